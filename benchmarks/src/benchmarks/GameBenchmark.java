@@ -0,0 +1,39 @@
+package benchmarks;
+
+import model.players.strategies.StrategyType;
+import model.simulation.SimulationResult;
+import model.simulation.Simulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBenchmark {
+    @Param({"3", "4"})
+    public int playerCount;
+
+    private long seed;
+    private Simulator simulator;
+
+    @Setup
+    public void setUp() {
+        List<StrategyType> seats = List.of(StrategyType.RANDOM, StrategyType.AGGRESSIVE, StrategyType.CAUTIOUS, StrategyType.AGGRESSIVE);
+        simulator = new Simulator(seats.subList(0, playerCount));
+    }
+
+    // deal, every round, trophies and winners of one headless game
+    @Benchmark
+    public SimulationResult fullGame() {
+        return simulator.simulate(seed++);
+    }
+}
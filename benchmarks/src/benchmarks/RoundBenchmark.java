@@ -0,0 +1,50 @@
+package benchmarks;
+
+import model.game.Game;
+import model.game.Round;
+import model.players.Offer;
+import model.players.Player;
+import model.players.VirtualPlayer;
+import model.players.strategies.StrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoundBenchmark {
+    private Round round;
+
+    // a four player round with every offer on the table
+    @Setup
+    public void setUp() {
+        Game game = new Game(42);
+        for (int i = 0; i < 4; i++) {
+            game.addVirtualPlayer("Bot " + i, StrategyType.AGGRESSIVE);
+        }
+        game.chooseTrophies(4);
+        round = game.startNewRound();
+        round.dealCards();
+        for (Player player : round.getPlayers()) {
+            round.addOffer(((VirtualPlayer) player).makeOffer());
+        }
+    }
+
+    @Benchmark
+    public Offer findBestOffer() {
+        return round.findBestOffer(round.getOffers());
+    }
+
+    @Benchmark
+    public ArrayList<Offer> getAvailableOffers() {
+        return round.getAvailableOffers();
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import model.cards.CardSet;
+import model.cards.Cards;
+import model.cards.Faces;
+import model.cards.Suit;
+import model.players.Jest;
+import model.players.ScoreTable;
+import model.players.ScoreVisitorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreBenchmark {
+    // representative end-of-game jests
+    @Param({"MIXED", "JOKER_HEARTS", "BLACK_PAIRS", "FULL_DECK"})
+    public String jestKind;
+
+    private Jest jest;
+    private ScoreVisitorImpl visitor;
+
+    @Setup
+    public void setUp() {
+        int mask = switch (jestKind) {
+            case "JOKER_HEARTS" -> CardSet.JOKER | CardSet.suitMask(Suit.HEARTS) | CardSet.bit(Suit.SPADES, Faces.ACE);
+            case "BLACK_PAIRS" -> CardSet.faceMask(Faces.TWO) | CardSet.faceMask(Faces.THREE) | CardSet.bit(Suit.DIAMONDS, Faces.FOUR);
+            case "FULL_DECK" -> CardSet.FULL;
+            default -> CardSet.bit(Suit.HEARTS, Faces.TWO) | CardSet.bit(Suit.DIAMONDS, Faces.ACE)
+                    | CardSet.bit(Suit.CLUBS, Faces.FOUR) | CardSet.bit(Suit.SPADES, Faces.ACE) | CardSet.JOKER;
+        };
+        jest = new Jest();
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            jest.addCard(Cards.get(CardSet.first(rest)));
+        }
+        visitor = new ScoreVisitorImpl();
+    }
+
+    @Benchmark
+    public int visitor() {
+        visitor.countJestScore(jest);
+        return visitor.getTotalScore();
+    }
+
+    @Benchmark
+    public int table() {
+        return ScoreTable.score(jest.getMask());
+    }
+
+    @Benchmark
+    public int incremental() {
+        return jest.getScore();
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GameStateMachine;
+import model.players.strategies.StrategyType;
+import model.search.GameSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotBenchmark {
+    private GameSnapshot snapshot;
+    private GameSnapshot copy;
+    private final GameAction[] actions = new GameAction[GameAction.COUNT];
+
+    // a four player game in the choosing phase of its first round
+    @Setup
+    public void setUp() {
+        Game game = new Game(42);
+        for (int i = 0; i < 4; i++) {
+            game.addVirtualPlayer("Bot " + i, StrategyType.AGGRESSIVE);
+        }
+        GameStateMachine machine = new GameStateMachine(game);
+        machine.start();
+        for (int i = 0; i < 4; i++) {
+            machine.step();
+        }
+        snapshot = new GameSnapshot();
+        snapshot.capture(machine);
+        copy = new GameSnapshot();
+    }
+
+    @Benchmark
+    public GameSnapshot copyFrom() {
+        copy.copyFrom(snapshot);
+        return copy;
+    }
+
+    @Benchmark
+    public GameSnapshot makeUnmake() {
+        int count = snapshot.getLegalActions(actions);
+        for (int i = 0; i < count; i++) {
+            snapshot.make(actions[i]);
+            snapshot.unmake();
+        }
+        return snapshot;
+    }
+
+    // plays the copy to the end, first legal action every time
+    @Benchmark
+    public int playout() {
+        copy.copyFrom(snapshot);
+        while (!copy.isFinished()) {
+            copy.getLegalActions(actions);
+            copy.apply(actions[0]);
+        }
+        return copy.getScore(0);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import model.game.Game;
+import model.game.Round;
+import model.players.Offer;
+import model.players.Player;
+import model.players.VirtualPlayer;
+import model.players.strategies.PlayStrategy;
+import model.players.strategies.StrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// One choice of seat 0 at the first round of a 4-player table: chooseOffer() and chooseFaceUp(),
+// which leave the table as it is. A pool of TABLES tables is dealt once per iteration and cycled
+// through, so no setup runs between calls. The offers are made by AGGRESSIVE seats whatever the
+// strategy, so every strategy decides on the same tables.
+// Left out: CFR and TABLE play a trained file (without one they play AGGRESSIVE), and ENDGAME
+// and EXPECTIMAX only search near the end of the game, so here they would measure AGGRESSIVE.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrategyBenchmark {
+    private static final int TABLES = 256;
+
+    @Param({"RANDOM", "AGGRESSIVE", "CAUTIOUS", "GREEDY", "ISMCTS", "ISMCTS_PARALLEL"})
+    public StrategyType strategy;
+
+    private long seed;
+    private final PlayStrategy[] strategies = new PlayStrategy[TABLES];
+    private final Player[] choosers = new Player[TABLES];
+    private final ArrayList<ArrayList<Offer>> offers = new ArrayList<>(TABLES);
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        offers.clear();
+        for (int i = 0; i < TABLES; i++) {
+            Game game = new Game(seed++);
+            for (int seat = 0; seat < 4; seat++) {
+                game.addVirtualPlayer("Bot " + seat, StrategyType.AGGRESSIVE);
+            }
+            game.chooseTrophies(4);
+            Round round = game.startNewRound();
+            round.dealCards();
+            for (Player player : round.getPlayers()) {
+                round.addOffer(((VirtualPlayer) player).makeOffer());
+            }
+            VirtualPlayer chooser = (VirtualPlayer) round.getPlayers().getFirst();
+            chooser.setStrategy(strategy);
+            strategies[i] = chooser.getStrategy();
+            choosers[i] = chooser;
+            offers.add(round.getAvailableOffers());
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean choose() {
+        int i = next;
+        next = (next + 1) % TABLES;
+        Offer offer = strategies[i].chooseOffer(offers.get(i), choosers[i]);
+        return strategies[i].chooseFaceUp(offer, choosers[i]);
+    }
+}
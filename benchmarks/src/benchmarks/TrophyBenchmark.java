@@ -0,0 +1,69 @@
+package benchmarks;
+
+import model.cards.TrophyRule;
+import model.game.Game;
+import model.game.TrophyIndex;
+import model.players.strategies.StrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrophyBenchmark {
+
+    @State(Scope.Thread)
+    public static class SetUpGame {
+        @Param({"3", "4"})
+        public int playerCount;
+
+        long seed;
+        Game game;
+        final TrophyIndex index = new TrophyIndex();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            game = finishedGame(seed++, playerCount);
+        }
+    }
+
+    // every card dealt straight into the jests, trophies still to hand out
+    static Game finishedGame(long seed, int playerCount) {
+        Game game = new Game(seed);
+        for (int i = 0; i < playerCount; i++) {
+            game.addVirtualPlayer("Bot " + i, StrategyType.AGGRESSIVE);
+        }
+        game.chooseTrophies(playerCount);
+        for (int i = 0; !game.getDeck().isEmpty(); i++) {
+            game.getPlayers().get(i % playerCount).getJest().addCard(game.getDeck().dealCard());
+        }
+        return game;
+    }
+
+    @Benchmark
+    public Game assignTrophyType(SetUpGame state) {
+        state.game.assignTrophyType();
+        return state.game;
+    }
+
+    // the work of assignTrophies() without handing the trophies out, which would change the game:
+    // the index built from the jests, then every trophy rule resolved
+    @Benchmark
+    public int resolveTrophies(SetUpGame state) {
+        TrophyIndex index = state.index;
+        index.build(state.game.getPlayers());
+        int winners = 0;
+        for (TrophyRule rule : state.game.getTrophyRules()) {
+            winners = winners * 8 + index.resolve(rule.getType(), rule.getSuit(), rule.getFace()) + 1;
+        }
+        return winners;
+    }
+}
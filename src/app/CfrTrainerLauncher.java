@@ -0,0 +1,34 @@
+package app;
+
+import model.search.CfrPolicy;
+import model.search.CfrTrainer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Trains a CFR policy and writes it for StrategyType.CFR (see CfrStrategy for where it is read).
+// Usage: CfrTrainerLauncher <iterations> <threads> <seed> <players: 3, 4 or 3,4> <policy file> [table bits]
+public class CfrTrainerLauncher {
+    public static void main(String[] args) throws IOException {
+        long iterations = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        String players = args.length > 3 ? args[3] : "3,4";
+        Path output = Path.of(args.length > 4 ? args[4] : "cfr.policy");
+        int tableBits = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+
+        System.out.println("--- Jest CFR training ---");
+        CfrTrainer trainer = new CfrTrainer(tableBits, threads);
+        for (String count : players.split(",")) {
+            int seatCount = Integer.parseInt(count.trim());
+            long start = System.nanoTime();
+            int entries = trainer.train(iterations, seed, seatCount);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d players: %d iterations on %d threads in %.1f s (%.0f/s), %d information sets%n",
+                    seatCount, iterations, threads, seconds, iterations / seconds, entries);
+        }
+        CfrPolicy policy = trainer.toPolicy();
+        policy.save(output);
+        System.out.println("Policy with " + policy.size() + " information sets written to " + output);
+    }
+}
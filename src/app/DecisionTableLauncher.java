@@ -0,0 +1,33 @@
+package app;
+
+import model.search.DecisionTableGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Distills ISMCTS self-play into a decision table for StrategyType.TABLE (see TableStrategy for
+// where it is read).
+// Usage: DecisionTableLauncher <games> <threads> <seed> <players: 3, 4 or 3,4> <table file> [ISMCTS iterations]
+public class DecisionTableLauncher {
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        String players = args.length > 3 ? args[3] : "3,4";
+        Path output = Path.of(args.length > 4 ? args[4] : "decision.table");
+        int iterations = args.length > 5 ? Integer.parseInt(args[5]) : 1000;
+
+        System.out.println("--- Jest decision table ---");
+        DecisionTableGenerator generator = new DecisionTableGenerator(threads, iterations);
+        for (String count : players.split(",")) {
+            int seatCount = Integer.parseInt(count.trim());
+            long start = System.nanoTime();
+            generator.play(games, seed, seatCount);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d players: %d games on %d threads in %.1f s (%.1f/s), %d decisions known%n",
+                    seatCount, games, threads, seconds, games / seconds, generator.size());
+        }
+        generator.write(output);
+        System.out.println("Table with " + generator.size() + " decisions written to " + output);
+    }
+}
@@ -0,0 +1,32 @@
+package app;
+
+import model.search.EndgameTablebaseGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Solves the final rounds of seeded games into an endgame tablebase for StrategyType.ENDGAME (see
+// EndgameStrategy for where it is read).
+// Usage: EndgameTablebaseLauncher <games> <threads> <seed> <players: 3, 4 or 3,4> <tablebase file>
+public class EndgameTablebaseLauncher {
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        String players = args.length > 3 ? args[3] : "3,4";
+        Path output = Path.of(args.length > 4 ? args[4] : "endgame.tablebase");
+
+        System.out.println("--- Jest endgame tablebase ---");
+        EndgameTablebaseGenerator generator = new EndgameTablebaseGenerator(threads);
+        for (String count : players.split(",")) {
+            int seatCount = Integer.parseInt(count.trim());
+            long start = System.nanoTime();
+            generator.play(games, seed, seatCount);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d players: %d games on %d threads in %.1f s, %d positions solved%n",
+                    seatCount, games, threads, seconds, generator.size());
+        }
+        generator.write(output);
+        System.out.println("Tablebase with " + generator.size() + " positions written to " + output);
+    }
+}
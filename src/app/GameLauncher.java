@@ -2,6 +2,7 @@ package app;
 
 import controller.GameController;
 import model.game.Game;
+import model.players.strategies.StrategyType;
 import view.ViewFactory;
 import view.console.GameView;
 import view.console.RoundView;
@@ -14,6 +15,7 @@ import view.interfaces.IGameView;
 import view.interfaces.IRoundView;
 
 import javax.swing.*;
+import java.util.EnumSet;
 
 public class GameLauncher {
     public enum GameMode {
@@ -28,6 +30,9 @@ public class GameLauncher {
             System.out.println("Starting in " + mode + " mode...");
         }
 
+        // any bot may be given CFR or TABLE in the player setup
+        StrategyFiles.warnIfMissing(EnumSet.allOf(StrategyType.class));
+
         Game model = new Game();
         IGameView gameView;
         IRoundView roundView;
@@ -0,0 +1,56 @@
+package app;
+
+import model.players.strategies.GreedyParameters;
+import model.players.strategies.StrategyType;
+import model.simulation.ParameterTuner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Tunes the GreedyStrategy weights against a pool of strategies and saves the champion (the best
+// set on held-out games) under a name, played by StrategyType.GREEDY with -Djest.greedy=<name>.
+// The run is checkpointed to <name>.checkpoint next to the parameters and resumes from it when
+// started again.
+// Usage: ParameterTunerLauncher <generations> <population> <games> <threads> <seed> <players> <name> [opponents...]
+public class ParameterTunerLauncher {
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int population = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 3000;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        int players = args.length > 5 ? Integer.parseInt(args[5]) : 3;
+        String name = args.length > 6 ? args[6] : "tuned";
+        List<StrategyType> opponents = new ArrayList<>();
+        for (int i = 7; i < args.length; i++) {
+            opponents.add(StrategyType.valueOf(args[i].toUpperCase()));
+        }
+        if (opponents.isEmpty()) {
+            opponents = List.of(StrategyType.AGGRESSIVE, StrategyType.CAUTIOUS, StrategyType.GREEDY);
+        }
+
+        System.out.println("--- Jest parameter tuning ---");
+        System.out.printf("%d generations of %d candidates, %d games each on %d threads, %d players against %s%n",
+                generations, population, games, threads, players, opponents);
+        StrategyFiles.warnIfMissing(opponents);
+        ParameterTuner tuner = new ParameterTuner(opponents, players, population, games, threads, seed);
+        Path checkpoint = GreedyParameters.pathOf(name).resolveSibling(name + ".checkpoint");
+        GreedyParameters best = tuner.run(generations, checkpoint, name, new ParameterTuner.Listener() {
+            @Override
+            public void resumed(int generation, Path from) {
+                System.out.println("Resumed at generation " + generation + " from " + from);
+            }
+
+            @Override
+            public void generationEvaluated(ParameterTuner t, int bestIndex, double seconds) {
+                System.out.printf("generation %d: best %.4f mean %.4f in %.1f s, champion %.4f on held-out games%n",
+                        t.getGeneration(), t.getFitness(bestIndex), t.getMeanFitness(), seconds, t.getChampionFitness());
+            }
+        });
+        if (best != null) {
+            System.out.println("Champion written to " + GreedyParameters.pathOf(name) + ": " + best);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package app;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GameStateMachine;
+import model.players.strategies.StrategyType;
+import model.search.GameSnapshot;
+import model.search.IsmctsSearch;
+import model.search.ParallelIsmctsSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// How parallel ISMCTS scales with threads at a fixed time per decision: playouts per second, and
+// decision quality as the share of positions where it picks the action of a long single-thread
+// reference search.
+// Usage: SearchScalingLauncher <positions> <millis per decision> <max threads> <reference iterations>
+public class SearchScalingLauncher {
+    public static void main(String[] args) {
+        int positionCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int referenceIterations = args.length > 3 ? Integer.parseInt(args[3]) : 50_000;
+
+        System.out.println("--- ISMCTS scaling ---");
+        System.out.println(positionCount + " positions, " + millis + " ms per decision, "
+                + Runtime.getRuntime().availableProcessors() + " cores");
+        List<GameSnapshot> positions = samplePositions(positionCount);
+        GameAction[] reference = new GameAction[positionCount];
+        IsmctsSearch referenceSearch = new IsmctsSearch(referenceIterations, 0);
+        for (int i = 0; i < positionCount; i++) {
+            reference[i] = referenceSearch.search(positions.get(i), new SplittableRandom(i));
+        }
+
+        for (ParallelIsmctsSearch.Mode mode : ParallelIsmctsSearch.Mode.values()) {
+            // 1, 2, 4, ... and maxThreads itself
+            for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+                ParallelIsmctsSearch search = new ParallelIsmctsSearch(mode, threads, 0, millis * 1_000_000L);
+                // untimed passes so the JIT has compiled the search before it is measured
+                for (int i = 0; i < Math.min(10, positionCount); i++) {
+                    search.search(positions.get(i), new SplittableRandom(-1 - i));
+                }
+                long playouts = 0;
+                int agreements = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < positionCount; i++) {
+                    GameAction action = search.search(positions.get(i), new SplittableRandom(i));
+                    playouts += search.getLastIterations();
+                    if (action == reference[i]) agreements++;
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-11s %2d threads: %9.0f playouts/s  agreement %6.2f%%%n",
+                        mode, threads, playouts / seconds, agreements * 100.0 / positionCount);
+                if (threads >= maxThreads) break;
+            }
+        }
+    }
+
+    // decision points of seeded games between heuristic bots, one per game, with a real choice
+    private static List<GameSnapshot> samplePositions(int count) {
+        List<GameSnapshot> positions = new ArrayList<>();
+        Game game = new Game(0);
+        game.addVirtualPlayer("Bot 1", StrategyType.RANDOM);
+        game.addVirtualPlayer("Bot 2", StrategyType.AGGRESSIVE);
+        game.addVirtualPlayer("Bot 3", StrategyType.CAUTIOUS);
+        GameStateMachine machine = new GameStateMachine(game);
+        for (long seed = 0; positions.size() < count; seed++) {
+            game.reset(seed);
+            machine.start();
+            int steps = new SplittableRandom(seed).nextInt(20);
+            for (int i = 0; i < steps && machine.step(); i++) {
+                // play up to the sampled decision
+            }
+            if (machine.isFinished() || machine.getLegalActions().size() < 2) continue;
+            GameSnapshot position = new GameSnapshot();
+            position.capture(machine);
+            positions.add(position);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,25 @@
+package app;
+
+import model.players.strategies.CfrStrategy;
+import model.players.strategies.StrategyType;
+import model.players.strategies.TableStrategy;
+
+import java.util.Collection;
+
+// Warnings of the launchers about strategies whose file is missing: CFR and TABLE then play like
+// AGGRESSIVE, which the model only reports by returning no default policy or table.
+final class StrategyFiles {
+    private StrategyFiles() {
+    }
+
+    static void warnIfMissing(Collection<StrategyType> types) {
+        if (types.contains(StrategyType.CFR) && CfrStrategy.defaultPolicy() == null) {
+            System.err.println("No CFR policy at " + CfrStrategy.defaultPolicyPath().toAbsolutePath()
+                    + ", CFR plays like AGGRESSIVE; train one with app.CfrTrainerLauncher");
+        }
+        if (types.contains(StrategyType.TABLE) && TableStrategy.defaultTable() == null) {
+            System.err.println("No decision table at " + TableStrategy.defaultTablePath().toAbsolutePath()
+                    + ", TABLE plays like AGGRESSIVE; generate one with app.DecisionTableLauncher");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package app;
+
+import model.players.strategies.StrategyType;
+import model.simulation.TournamentResult;
+import model.simulation.TournamentRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Usage: TournamentLauncher <games> <threads> <seed> <STRATEGY> <STRATEGY> <STRATEGY> [STRATEGY]
+public class TournamentLauncher {
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        List<StrategyType> seats = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            seats.add(StrategyType.valueOf(args[i].toUpperCase()));
+        }
+        if (seats.isEmpty()) {
+            seats = List.of(StrategyType.RANDOM, StrategyType.AGGRESSIVE, StrategyType.CAUTIOUS);
+        }
+
+        System.out.println("--- Jest Tournament ---");
+        System.out.println(games + " games on " + threads + " threads, seats " + seats);
+        StrategyFiles.warnIfMissing(seats);
+        TournamentResult result = new TournamentRunner(seats, threads).run(games, seed);
+
+        for (StrategyType type : StrategyType.values()) {
+            if (result.getSeatsPlayed(type) == 0) continue;
+            System.out.printf("%-16s win rate %6.2f%%  avg score %6.2f  trophies %d%n",
+                    type, result.getWinRate(type) * 100, result.getAverageScore(type), result.getTrophyCount(type));
+        }
+        for (int t = 0; t < result.getThreadCount(); t++) {
+            System.out.printf("thread %d: %d games, %.0f games/s%n", t, result.getGames(t), result.getGamesPerSecond(t));
+        }
+        System.out.printf("total: %.0f games/s%n", result.getTotalGamesPerSecond());
+    }
+}
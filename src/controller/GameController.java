@@ -2,7 +2,6 @@ package controller;
 
 import model.players.Player;
 import model.players.strategies.StrategyType;
-import model.game.Round;
 import view.interfaces.IGameView;
 import model.game.Game;
 import view.interfaces.IRoundView;
@@ -15,6 +14,8 @@ public class GameController {
     private final IGameView gameView;
     private final IRoundView roundView;
     private final ViewFactory viewFactory;
+    // created with the first round, then reset for every following round and game
+    private RoundController roundController;
 
     public GameController(Game model, IGameView gameView, IRoundView roundView, ViewFactory viewFactory) {
         this.model = model;
@@ -53,9 +54,22 @@ public class GameController {
     }
 
 
+    // plays a new game with the same players, reusing the model objects of the previous one
+    public void restartGame(long seed) {
+        model.reset(seed);
+        model.chooseTrophies(model.getPlayers().size());
+        gameView.showTrophies(model.trophiesInfo());
+
+        playGame();
+    }
+
     public void playGame() {
         while (!model.getDeck().isEmpty()) {
-            RoundController roundController = new RoundController(new Round(model.getPlayers(), model.getDeck()), roundView, viewFactory);
+            if (roundController == null) {
+                roundController = new RoundController(model.startNewRound(), roundView, viewFactory);
+            } else {
+                roundController.reset(model.startNewRound());
+            }
 
             gameView.showRound(roundController.getRoundCounter());
             roundController.playRound();
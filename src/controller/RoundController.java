@@ -6,7 +6,6 @@ import model.players.Offer;
 import model.players.Player;
 import model.game.Round;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,7 +23,13 @@ public class RoundController {
         initializePlayerControllers();
     }
 
+    // the same controller runs every round of a game, player controllers and views are kept
+    public void reset(Round round) {
+        this.model = round;
+    }
+
     public void initializePlayerControllers() {
+        this.playerControllers.clear();
         for (Player player: model.getPlayers()){
             view.interfaces.IPlayerView playerView = viewFactory.createPlayerView(player);
             PlayerController controller = PlayerController.createController(player, playerView);
@@ -37,7 +42,7 @@ public class RoundController {
     }
 
     public int getRoundCounter() {
-        return Round.getRoundCounter();
+        return model.getRoundNumber();
     }
 
     private void makeOffersPhase(){
@@ -82,14 +87,13 @@ public class RoundController {
         Player currentPlayer = startingPlayer;
         int turns = 0;
         int maxTurns = model.getPlayers().size();
-        model.setAlreadyPlayed(new ArrayList<>());
         while (turns < maxTurns) {
             view.showTurn(currentPlayer);
             PlayerController controller = getController(currentPlayer);
             Offer takenOffer = controller.chooseCard(model.getAvailableOffers());
-            model.getAlreadyPlayed().add(currentPlayer);
-            if (model.getAlreadyPlayed().size() <= maxTurns - 1) {
-                Player nextPlayer = model.getNextPlayer(model.getAlreadyPlayed(), takenOffer);
+            model.recordTurn(currentPlayer, takenOffer);
+            if (model.getPlayedCount() <= maxTurns - 1) {
+                Player nextPlayer = model.getNextPlayer(takenOffer);
                 view.showCardTaken(currentPlayer, takenOffer, nextPlayer);
                 currentPlayer = nextPlayer;
             }
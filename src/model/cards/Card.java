@@ -1,88 +1,34 @@
 package model.cards;
 
+// Cards are immutable flyweights: the 17 instances of Cards are shared by every game and thread.
+// Trophy status belongs to the game, see Game.isTrophy() and TrophyRule.
 public abstract class Card {
-    protected boolean isTrophy;
-    protected TrophyType trophyType;
-    protected Suit trophySuit;
-    protected Faces trophyFace;
+    private final int index;
+    private final int faceValue;
+    private final int suitValue;
+    private final int strength;
 
-    public Card(boolean isTrophy) {
-        this.isTrophy = isTrophy;
-        this.trophyType = TrophyType.NONE;
-        this.trophyFace = null;
-        this.trophySuit = null;
+    protected Card(int index, int faceValue, int suitValue, int strength) {
+        this.index = index;
+        this.faceValue = faceValue;
+        this.suitValue = suitValue;
+        this.strength = strength;
     }
 
-    public boolean isTrophy(){
-        return isTrophy;
+    // position of the card in a CardSet mask and in Cards
+    public int getIndex() {
+        return index;
     }
 
-    public void setTrophy(boolean isTrophy){
-        this.isTrophy = isTrophy;
-    }
-
-    public TrophyType getTrophyType(){
-        return trophyType;
-    }
-
-    public void setTrophyType(TrophyType trophy){
-        this.trophyType = trophy;
-    }
-
-    public void setTrophySuit(Suit suit){
-        this.trophySuit = suit;
-    }
-
-    public void setTrophyFace(Faces trophyFace){
-        this.trophyFace = trophyFace;
-    }
-
-    public Suit getTrophySuit(){
-        return trophySuit;
-    }
-
-    public Faces getTrophyFace(){
-        return trophyFace;
+    public int getCardStrength(){
+        return strength;
     }
 
-    private boolean hasTrophySuit() {
-        return trophySuit != null;
-    }
-    private boolean hasTrophyFace() {
-        return trophyFace != null;
+    public int getFaceValue() {
+        return faceValue;
     }
 
-    public String trophyInfo() {
-        if (trophyType == null || trophyType == TrophyType.NONE) {
-            return "Not a trophy";
-        }
-        if (hasTrophySuit()) {
-            return trophyType + " of " + trophySuit;
-        }
-
-        if (hasTrophyFace()) {
-            return trophyType + " of " + trophyFace;
-        }
-
-        return trophyType.toString();
-
+    public int getSuitValue() {
+        return suitValue;
     }
-
-    public int getCardStrength(){
-        int value = 0;
-        if (this instanceof SuitCard) {
-            value = this.getFaceValue();
-            value += this.getSuitValue();
-        }
-        if (this instanceof Joker){
-            value = 4;
-            value += 4;
-        }
-
-        return value;
-    }
-
-    public abstract int getFaceValue();
-
-    public abstract int getSuitValue();
 }
@@ -0,0 +1,144 @@
+package model.cards;
+
+// A set of Jest cards packed into the low 17 bits of an int.
+// Bit (4 * suit + face) holds a SuitCard (ordinals of Suit and Faces), bit 16 holds the Joker.
+// Iterate a set without allocation with:
+//     for (int rest = set; rest != 0; rest &= rest - 1) { int index = CardSet.first(rest); ... }
+public final class CardSet {
+    public static final int CARD_COUNT = 17;
+    public static final int JOKER_INDEX = 16;
+    public static final int EMPTY = 0;
+    public static final int FULL = (1 << CARD_COUNT) - 1;
+    public static final int JOKER = 1 << JOKER_INDEX;
+
+    // faces of one suit, shifted down to the low 4 bits
+    public static final int FACES_OF_SUIT = 0xF;
+    // one face in every suit
+    private static final int FACE_IN_ALL_SUITS = 0x1111;
+
+    // [byte << 3 | n]: position of the n-th set bit of the byte
+    private static final byte[] SELECT = new byte[256 * 8];
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            int n = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                if ((value & 1 << bit) != 0) SELECT[value << 3 | n++] = (byte) bit;
+            }
+        }
+    }
+
+    private CardSet() {
+    }
+
+    public static int index(Suit suit, Faces face) {
+        return suit.ordinal() * 4 + face.ordinal();
+    }
+
+    public static int bit(Card card) {
+        return 1 << card.getIndex();
+    }
+
+    public static int bit(Suit suit, Faces face) {
+        return 1 << index(suit, face);
+    }
+
+    public static int add(int set, Card card) {
+        return set | bit(card);
+    }
+
+    public static int remove(int set, Card card) {
+        return set & ~bit(card);
+    }
+
+    public static boolean contains(int set, Card card) {
+        return (set & bit(card)) != 0;
+    }
+
+    public static boolean contains(int set, int index) {
+        return (set & (1 << index)) != 0;
+    }
+
+    public static int size(int set) {
+        return Integer.bitCount(set);
+    }
+
+    public static boolean isEmpty(int set) {
+        return set == 0;
+    }
+
+    public static boolean hasJoker(int set) {
+        return (set & JOKER) != 0;
+    }
+
+    // lowest card index of the set, 32 if the set is empty
+    public static int first(int set) {
+        return Integer.numberOfTrailingZeros(set);
+    }
+
+    // card index of the n-th card of the set, lowest first; n must be below size(set).
+    // A byte at a time: skip whole bytes by their bit counts, then look the bit up in SELECT.
+    public static int nth(int set, int n) {
+        int low = set & 0xFF;
+        int count = Integer.bitCount(low);
+        if (n < count) return SELECT[low << 3 | n];
+        n -= count;
+        int middle = set >>> 8 & 0xFF;
+        count = Integer.bitCount(middle);
+        if (n < count) return 8 + SELECT[middle << 3 | n];
+        return 16 + SELECT[(set >>> 16 & 0xFF) << 3 | n - count];
+    }
+
+    public static int suitMask(Suit suit) {
+        return FACES_OF_SUIT << (suit.ordinal() * 4);
+    }
+
+    public static int faceMask(Faces face) {
+        return FACE_IN_ALL_SUITS << face.ordinal();
+    }
+
+    // 4-bit mask of the faces held in a suit, bit i is Faces.values()[i]
+    public static int suitFaces(int set, Suit suit) {
+        return (set >>> (suit.ordinal() * 4)) & FACES_OF_SUIT;
+    }
+
+    public static int suitFaces(int set, int suitOrdinal) {
+        return (set >>> (suitOrdinal * 4)) & FACES_OF_SUIT;
+    }
+
+    // 4-bit mask of the suits holding a face, bit i is Suit.values()[i]
+    public static int faceSuits(int set, Faces face) {
+        return faceSuits(set, face.ordinal());
+    }
+
+    public static int faceSuits(int set, int faceOrdinal) {
+        int bits = (set >>> faceOrdinal) & FACE_IN_ALL_SUITS;
+        return (bits & 1) | ((bits >>> 3) & 2) | ((bits >>> 6) & 4) | ((bits >>> 9) & 8);
+    }
+
+    public static boolean isJoker(int index) {
+        return index == JOKER_INDEX;
+    }
+
+    public static int suitOrdinal(int index) {
+        return index >>> 2;
+    }
+
+    public static int faceOrdinal(int index) {
+        return index & 3;
+    }
+
+    public static String toString(int set) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int rest = set; rest != 0; rest &= rest - 1) {
+            int index = first(rest);
+            if (sb.length() > 1) sb.append(", ");
+            if (isJoker(index)) {
+                sb.append("Joker");
+            } else {
+                sb.append(Faces.values()[faceOrdinal(index)]).append(' ').append(Suit.values()[suitOrdinal(index)]);
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,35 @@
+package model.cards;
+
+// Registry of the 17 canonical cards, indexed like CardSet (4 * suit + face, Joker last).
+// Decks, offers and jests of every game hold these same instances.
+public final class Cards {
+    private static final Card[] ALL = buildCards();
+
+    public static final Card JOKER = ALL[CardSet.JOKER_INDEX];
+
+    private Cards() {
+    }
+
+    private static Card[] buildCards() {
+        Card[] cards = new Card[CardSet.CARD_COUNT];
+        for (Suit suit : Suit.values()) {
+            for (Faces face : Faces.values()) {
+                cards[CardSet.index(suit, face)] = new SuitCard(suit, face);
+            }
+        }
+        cards[CardSet.JOKER_INDEX] = new Joker();
+        return cards;
+    }
+
+    public static Card get(int index) {
+        return ALL[index];
+    }
+
+    public static SuitCard of(Suit suit, Faces face) {
+        return (SuitCard) ALL[CardSet.index(suit, face)];
+    }
+
+    public static int count() {
+        return ALL.length;
+    }
+}
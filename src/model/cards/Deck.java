@@ -1,67 +1,111 @@
 package model.cards;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class Deck {
-    private final ArrayList<Card> cards;
+    // cards are dealt from the top of this stack, mask mirrors its content
+    private final Card[] cards;
+    private int size;
+    private int mask;
+    private SplittableRandom random;
 
     public Deck() {
-        this.cards = new ArrayList<>();
+        this(new SplittableRandom());
+    }
+
+    // seeded deck for reproducible simulations
+    public Deck(SplittableRandom random) {
+        this.cards = new Card[CardSet.CARD_COUNT];
+        this.random = random;
+        deckInit();
+    }
+
+    // puts all 17 cards back and shuffles them with a new generator, the deck is ready for a new game
+    public void reset(SplittableRandom random) {
+        Arrays.fill(cards, null);
+        this.random = random;
         deckInit();
     }
 
     public void shuffle() {
-        Random random = new Random();
-        for (int i = cards.size() - 1; i > 0; i--) {
+        for (int i = size - 1; i > 0; i--) {
             int j = random.nextInt(i + 1);
-            Collections.swap(cards, i, j);
+            Card card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
         }
     }
 
-    // Initialization of our deck (we add all 17 cards including 1 Joker)
+    // Initialization of our deck (we add all 17 shared cards including 1 Joker)
     private void deckInit(){
-        cards.clear();
-        for  (Suit suit : Suit.values()) {
-            for (Faces face : Faces.values()) {
-                cards.add(new SuitCard(false, suit, face));
-            }
+        size = 0;
+        mask = CardSet.EMPTY;
+        for (int index = 0; index < Cards.count(); index++) {
+            push(Cards.get(index));
         }
-        cards.add(new Joker(false));
         shuffle();
     }
+
+    private void push(Card card) {
+        cards[size++] = card;
+        mask |= CardSet.bit(card);
+    }
+
     public Card dealCard() {
-        if (cards.isEmpty()) {
+        if (size == 0) {
             throw new IllegalStateException("Le deck est vide");
         }
-        return cards.removeLast();
+        Card card = cards[--size];
+        cards[size] = null;
+        mask &= ~CardSet.bit(card);
+        return card;
     }
 
     public int getRemainingCount() {
-        return cards.size();
+        return size;
     }
 
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return size == 0;
+    }
+
+    public boolean contains(Card card) {
+        return CardSet.contains(mask, card);
     }
 
     public void addCard(Card card) {
-        if (cards.contains(card))
-            System.out.println("You cannot add the same card in the deck");
-        else if(card == null)
+        if(card == null)
             System.out.println("You cannot add null card");
+        else if (contains(card))
+            System.out.println("You cannot add the same card in the deck");
         else{
 //            System.out.println("You have added " + card + " to the deck");
-            cards.add(card);
+            push(card);
         }
     }
 
+    // position 0 is the bottom of the deck, getRemainingCount() - 1 the next card dealt
+    public Card getCard(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("No card at position " + position);
+        }
+        return cards[position];
+    }
 
+    // CardSet of the cards left in the deck
+    public int getMask() {
+        return mask;
+    }
 
         // test for cards
     public ArrayList<Card> getCards(){
-        return cards;
+        ArrayList<Card> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(cards[i]);
+        }
+        return list;
     }
 
 
@@ -75,7 +119,7 @@ public class Deck {
 //        ArrayList<Card> cards = deck.getTrophies();
 //        for (Card card : cards){
 //            System.out.print(card + ": ");
-//            System.out.println(card.trophyInfo());
+//            System.out.println(TrophyRule.of(card));
 //        }
 //        System.out.println("Deck has " + deck.getRemainingCount() + " cards.");
 //
@@ -90,7 +134,7 @@ public class Deck {
 //        Card card = deck.dealCard();
 //        System.out.println("Card given: " + card);
 //        System.out.println("Cards left in the deck: " + deck.getRemainingCount());
-//        Card card1 =  new SuitCard(false, Suit.HEARTS, Faces.ACE);
+//        Card card1 =  Cards.of(Suit.HEARTS, Faces.ACE);
 //        deck.addCard(card1);
     }
 
@@ -1,18 +1,9 @@
 package model.cards;
 
 public class Joker extends Card {
-    public Joker(boolean isTrophy) {
-        super(isTrophy);
-    }
-
-    @Override
-    public int getFaceValue() {
-        return 0;
-    }
-
-    @Override
-    public int getSuitValue() {
-        return 0;
+    // the only instance is Cards.JOKER
+    Joker() {
+        super(CardSet.JOKER_INDEX, 0, 0, 4 + 4);
     }
 
     @Override
@@ -1,12 +1,12 @@
 package model.cards;
 
 public class SuitCard extends Card {
-    private Suit suit;
-    private Faces faces;
+    private final Suit suit;
+    private final Faces faces;
 
-
-    public SuitCard(boolean isTrophy, Suit suit, Faces faces) {
-        super(isTrophy);
+    // instances are shared, get them from Cards.of(suit, faces)
+    SuitCard(Suit suit, Faces faces) {
+        super(CardSet.index(suit, faces), faces.getFaceValue(), suit.getStrength(), faces.getFaceValue() + suit.getStrength());
         this.suit = suit;
         this.faces = faces;
     }
@@ -26,31 +26,9 @@ public class SuitCard extends Card {
         return suit == Suit.CLUBS || suit == Suit.SPADES;
     }
 
-    @Override
-    public int getFaceValue() {
-        return faces.getFaceValue();
-    }
-
-
-    public int getSuitValue(){
-        return suit.getStrength();
-    }
-
-
     @Override
     public String toString() {
         return this.faces + " " + this.suit;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-
-        SuitCard suitCard = (SuitCard) o;
-
-        return suit == suitCard.suit &&
-                faces == suitCard.faces;
-    }
-
 }
@@ -0,0 +1,78 @@
+package model.cards;
+
+// What a card means when it is drawn as a trophy. The 17 rules are built once and shared,
+// so a game only keeps references to them and never writes trophy data into cards.
+public final class TrophyRule {
+    private static final TrophyRule[] RULES = buildRules();
+
+    private final TrophyType type;
+    private final Suit suit;
+    private final Faces face;
+
+    private TrophyRule(TrophyType type, Suit suit, Faces face) {
+        this.type = type;
+        this.suit = suit;
+        this.face = face;
+    }
+
+    public static TrophyRule of(Card card) {
+        return RULES[card.getIndex()];
+    }
+
+    public static TrophyRule of(int cardIndex) {
+        return RULES[cardIndex];
+    }
+
+    private static TrophyRule[] buildRules() {
+        TrophyRule[] rules = new TrophyRule[CardSet.CARD_COUNT];
+        rules[CardSet.JOKER_INDEX] = new TrophyRule(TrophyType.BEST_JEST, null, null);
+        for (Faces face : Faces.values()) {
+            rules[CardSet.index(Suit.HEARTS, face)] = new TrophyRule(TrophyType.JOKER, null, null);
+        }
+
+        put(rules, Suit.CLUBS, Faces.ACE, TrophyType.HIGHEST_FACE, Suit.SPADES, null);
+        put(rules, Suit.CLUBS, Faces.TWO, TrophyType.LOWEST_FACE, Suit.HEARTS, null);
+        put(rules, Suit.CLUBS, Faces.THREE, TrophyType.HIGHEST_FACE, Suit.HEARTS, null);
+        put(rules, Suit.CLUBS, Faces.FOUR, TrophyType.LOWEST_FACE, Suit.SPADES, null);
+
+        put(rules, Suit.SPADES, Faces.ACE, TrophyType.HIGHEST_FACE, Suit.CLUBS, null);
+        put(rules, Suit.SPADES, Faces.TWO, TrophyType.MAJORITY_FACE_VALUE, null, Faces.THREE);
+        put(rules, Suit.SPADES, Faces.THREE, TrophyType.MAJORITY_FACE_VALUE, null, Faces.TWO);
+        put(rules, Suit.SPADES, Faces.FOUR, TrophyType.LOWEST_FACE, Suit.CLUBS, null);
+
+        put(rules, Suit.DIAMONDS, Faces.ACE, TrophyType.MAJORITY_FACE_VALUE, null, Faces.FOUR);
+        put(rules, Suit.DIAMONDS, Faces.TWO, TrophyType.HIGHEST_FACE, Suit.DIAMONDS, null);
+        put(rules, Suit.DIAMONDS, Faces.THREE, TrophyType.LOWEST_FACE, Suit.DIAMONDS, null);
+        put(rules, Suit.DIAMONDS, Faces.FOUR, TrophyType.BEST_JEST_NO_JOKER, null, null);
+        return rules;
+    }
+
+    private static void put(TrophyRule[] rules, Suit cardSuit, Faces cardFace, TrophyType type, Suit suit, Faces face) {
+        rules[CardSet.index(cardSuit, cardFace)] = new TrophyRule(type, suit, face);
+    }
+
+    public TrophyType getType() {
+        return type;
+    }
+
+    // suit targeted by HIGHEST_FACE and LOWEST_FACE, null otherwise
+    public Suit getSuit() {
+        return suit;
+    }
+
+    // face targeted by MAJORITY_FACE_VALUE, null otherwise
+    public Faces getFace() {
+        return face;
+    }
+
+    @Override
+    public String toString() {
+        if (suit != null) {
+            return type + " of " + suit;
+        }
+        if (face != null) {
+            return type + " of " + face;
+        }
+        return type.toString();
+    }
+}
@@ -0,0 +1,277 @@
+package model.game;
+
+import model.cards.Card;
+import model.cards.CardSet;
+import model.players.Offer;
+import model.players.Player;
+import model.players.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// What one seat (the observer) knows about the cards, kept up to date from game events with the
+// real visibility rules: the observer sees its own hands, every face-up card, the trophies and
+// the cards it takes; the others' hands, face-down cards and the cards they take face down stay
+// hidden. The deck is a stack, leftovers go back on top in seat order and are dealt from the top
+// in seat order, so the observer also knows which known leftovers each seat was dealt.
+// Every query is O(1) on bitmasks. Probabilities assume that every card the observer has not
+// seen is equally likely to be in any unseen place: the other seats' offers are not read as
+// signals about their cards.
+public class BeliefTracker implements GameListener {
+    private static final int NONE = -1;
+    private static final int UNKNOWN = -2;
+    private static final double[][] BINOMIAL = buildBinomial();
+
+    private final int observer;
+    private int seatCount;
+    private int seen;
+    private final int[] knownJest = new int[Game.MAX_SEATS];
+    private final int[] hiddenJestCount = new int[Game.MAX_SEATS];
+    private final int[] knownHand = new int[Game.MAX_SEATS];
+    private final int[] faceUp = new int[Game.MAX_SEATS];
+    // the face-down card of a seat's offer: a card when the observer knows it, UNKNOWN, or NONE
+    private final int[] faceDown = new int[Game.MAX_SEATS];
+    // the deck as the observer sees it, bottom first: a known card or UNKNOWN
+    private final int[] deck = new int[CardSet.CARD_COUNT];
+    private int deckSize;
+
+    public BeliefTracker(int observer) {
+        if (observer < 0 || observer >= Game.MAX_SEATS) {
+            throw new IllegalArgumentException("No seat " + observer);
+        }
+        this.observer = observer;
+    }
+
+    public int getObserver() {
+        return observer;
+    }
+
+    // cards the observer has never seen
+    public int getUnseenMask() {
+        return CardSet.FULL & ~seen;
+    }
+
+    public int getUnseenCount() {
+        return CardSet.CARD_COUNT - Integer.bitCount(seen);
+    }
+
+    // cards the observer knows are in the seat's jest
+    public int getKnownJest(int seat) {
+        return knownJest[seat];
+    }
+
+    // cards the seat took face down without the observer seeing them
+    public int getHiddenJestCount(int seat) {
+        return hiddenJestCount[seat];
+    }
+
+    // cards of the seat's hand the observer knows (known leftovers dealt to it)
+    public int getKnownHand(int seat) {
+        return knownHand[seat];
+    }
+
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    // card at a deck position (0 is the bottom) when the observer knows it, -1 otherwise
+    public int getKnownDeckCard(int position) {
+        return deck[position] == UNKNOWN ? NONE : deck[position];
+    }
+
+    // what the face-down card of the seat's offer can be: one card when it is known, the unseen
+    // cards otherwise, empty without a face-down card
+    public int getPossibleFaceDown(int seat) {
+        int card = faceDown[seat];
+        if (card == NONE) return CardSet.EMPTY;
+        return card == UNKNOWN ? getUnseenMask() : 1 << card;
+    }
+
+    public double probabilityFaceDown(int seat, int card) {
+        return probabilityFaceDownIn(seat, 1 << card);
+    }
+
+    // chance that the seat's face-down card is in the set, e.g. a suit or a face mask
+    public double probabilityFaceDownIn(int seat, int set) {
+        int possible = getPossibleFaceDown(seat);
+        if (possible == CardSet.EMPTY) return 0;
+        return (double) Integer.bitCount(possible & set) / Integer.bitCount(possible);
+    }
+
+    // hypergeometric: chance that exactly k of `draws` unseen cards (a hidden hand, face-down cards
+    // still to be shown) are in the set
+    public double probabilityUnseenCount(int set, int draws, int k) {
+        int population = getUnseenCount();
+        int successes = Integer.bitCount(getUnseenMask() & set);
+        if (draws < 0 || draws > population) {
+            throw new IllegalArgumentException("Cannot draw " + draws + " of " + population + " unseen cards");
+        }
+        if (k < 0 || k > draws || k > successes || draws - k > population - successes) {
+            return 0;
+        }
+        return BINOMIAL[successes][k] * BINOMIAL[population - successes][draws - k] / BINOMIAL[population][draws];
+    }
+
+    public double probabilityUnseenAtLeastOne(int set, int draws) {
+        return 1 - probabilityUnseenCount(set, draws, 0);
+    }
+
+    @Override
+    public void gameStarted(Game game) {
+        seatCount = game.getPlayers().size();
+        seen = game.getTrophyMask();
+        Arrays.fill(knownJest, 0);
+        Arrays.fill(hiddenJestCount, 0);
+        Arrays.fill(knownHand, 0);
+        Arrays.fill(faceUp, NONE);
+        Arrays.fill(faceDown, NONE);
+        deckSize = game.getDeck().getRemainingCount();
+        Arrays.fill(deck, 0, deckSize, UNKNOWN);
+    }
+
+    @Override
+    public void roundStarted(Game game) {
+        // dealt from the top, two cards per seat in seat order
+        for (int seat = 0; seat < seatCount; seat++) {
+            knownHand[seat] = 0;
+            for (int i = 0; i < 2; i++) {
+                int card = deck[--deckSize];
+                if (card != UNKNOWN) knownHand[seat] |= 1 << card;
+            }
+            faceUp[seat] = NONE;
+            faceDown[seat] = NONE;
+        }
+        ArrayList<Card> hand = game.getPlayers().get(observer).getHand();
+        knownHand[observer] = 0;
+        for (Card card : hand) {
+            knownHand[observer] |= 1 << card.getIndex();
+        }
+        seen |= knownHand[observer];
+    }
+
+    @Override
+    public void offerMade(int seat, int faceUpCard, int faceDownCard) {
+        seen |= 1 << faceUpCard;
+        faceUp[seat] = faceUpCard;
+        if (seat == observer) {
+            faceDown[seat] = faceDownCard;
+        } else {
+            // a known hand card that was not shown is the face-down card
+            int rest = knownHand[seat] & ~(1 << faceUpCard);
+            faceDown[seat] = rest != 0 ? CardSet.first(rest) : UNKNOWN;
+        }
+        knownHand[seat] = 0;
+    }
+
+    @Override
+    public void cardTaken(int seat, int offerSeat, int card, boolean faceUpTaken) {
+        if (faceUpTaken) {
+            knownJest[seat] |= 1 << card;
+            faceUp[offerSeat] = NONE;
+            return;
+        }
+        if (seat == observer) {
+            seen |= 1 << card;
+        }
+        if (faceDown[offerSeat] != UNKNOWN || seat == observer) {
+            knownJest[seat] |= 1 << card;
+        } else {
+            hiddenJestCount[seat]++;
+        }
+        faceDown[offerSeat] = NONE;
+    }
+
+    @Override
+    public void roundEnded(Game game) {
+        boolean lastRound = game.getDeck().isEmpty();
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (faceUp[seat] != NONE) {
+                if (lastRound) knownJest[seat] |= 1 << faceUp[seat];
+                else deck[deckSize++] = faceUp[seat];
+            }
+            if (faceDown[seat] != NONE) {
+                if (!lastRound) deck[deckSize++] = faceDown[seat];
+                else if (faceDown[seat] == UNKNOWN) hiddenJestCount[seat]++;
+                else knownJest[seat] |= 1 << faceDown[seat];
+            }
+            faceUp[seat] = NONE;
+            faceDown[seat] = NONE;
+        }
+    }
+
+    private static double[][] buildBinomial() {
+        double[][] binomial = new double[CardSet.CARD_COUNT + 1][CardSet.CARD_COUNT + 1];
+        for (int n = 0; n <= CardSet.CARD_COUNT; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + binomial[n - 1][k];
+            }
+        }
+        return binomial;
+    }
+
+    // functions test: a tracker per seat follows seeded bot games; what it knows must be true
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        StrategyType[] types = {StrategyType.RANDOM, StrategyType.AGGRESSIVE,
+                StrategyType.CAUTIOUS};
+        int violations = 0;
+        long checks = 0;
+        for (int players = 3; players <= 4; players++) {
+            Game game = new Game(0);
+            for (int seat = 0; seat < players; seat++) {
+                game.addVirtualPlayer("Bot " + (seat + 1), types[seat % types.length]);
+            }
+            GameStateMachine machine = new GameStateMachine(game);
+            BeliefTracker[] trackers = new BeliefTracker[players];
+            for (int seat = 0; seat < players; seat++) {
+                trackers[seat] = new BeliefTracker(seat);
+                machine.addListener(trackers[seat]);
+            }
+            for (long seed = 0; seed < games; seed++) {
+                game.reset(seed);
+                machine.start();
+                do {
+                    for (BeliefTracker tracker : trackers) {
+                        violations += tracker.check(machine);
+                        checks++;
+                    }
+                } while (machine.step());
+            }
+        }
+        System.out.println(checks + " checks, " + violations + " violations");
+    }
+
+    // number of beliefs that contradict the real game
+    private int check(GameStateMachine machine) {
+        int violations = 0;
+        Game game = machine.getGame();
+        ArrayList<Player> players = game.getPlayers();
+        int visible = 0;
+        for (int seat = 0; seat < seatCount; seat++) {
+            Player player = players.get(seat);
+            int jest = player.getJest().getMask();
+            visible |= seat == observer ? jest | player.getHandMask() : 0;
+            if ((knownJest[seat] & ~jest) != 0) violations++;
+            if (!machine.isFinished() && Integer.bitCount(knownJest[seat]) + hiddenJestCount[seat] != Integer.bitCount(jest)) {
+                violations++;
+            }
+            if ((knownHand[seat] & ~player.getHandMask()) != 0) violations++;
+            Offer offer = machine.getRound().getOffer(seat);
+            if (offer != null && offer.getFaceDownCard() != null && !machine.isFinished()) {
+                if ((getPossibleFaceDown(seat) & 1 << offer.getFaceDownCard().getIndex()) == 0) violations++;
+            }
+            if (offer != null && offer.getFaceUpCard() != null) visible |= 1 << offer.getFaceUpCard().getIndex();
+        }
+        if (!machine.isFinished()) {
+            if (deckSize != game.getDeck().getRemainingCount()) violations++;
+            for (int position = 0; position < Math.min(deckSize, game.getDeck().getRemainingCount()); position++) {
+                int card = getKnownDeckCard(position);
+                if (card != NONE && card != game.getDeck().getCard(position).getIndex()) violations++;
+            }
+        }
+        // everything the observer can see right now was seen
+        if ((visible & ~seen) != 0) violations++;
+        return violations;
+    }
+}
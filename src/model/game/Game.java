@@ -4,27 +4,71 @@ package model.game;
 import model.cards.*;
 import model.players.HumanPlayer;
 import model.players.Player;
-import model.players.ScoreVisitorImpl;
 import model.players.VirtualPlayer;
 import model.players.strategies.StrategyType;
 
 import java.util.ArrayList;
 
 public class Game {
+    // Jest is played by 3 or 4 players, GameStateMachine.start() checks it
+    public static final int MAX_SEATS = 4;
+
     private final Deck deck;
+    private final GameRandom random;
     private final ArrayList<Player> players;
 // saving rounds has no logic here because they reference the same object each time so we capture not info this way
     private final ArrayList<Round> rounds;
 
     // test that Game knows about cards
     private ArrayList<Card> trophies;
+    private final ArrayList<TrophyRule> trophyRules;
+    private int trophyMask;
+    private int roundCounter;
+    private final Round round;
+    private final TrophyIndex trophyIndex;
+    private final ArrayList<Player> trophyWinners;
 
 
     public Game() {
-        this.deck = new Deck();
+        this(GameRandom.unseeded());
+    }
+
+    // seeded game, replays exactly from the same seed
+    public Game(long seed) {
+        this(new GameRandom(seed));
+    }
+
+    // every random decision of the game (shuffle, random bots) comes from this one seed
+    private Game(GameRandom random) {
+        this.random = random;
+        this.deck = new Deck(random.getDeckRandom());
         this.players = new ArrayList<>();
         this.rounds = new ArrayList<>();
         this.trophies = new ArrayList<>();
+        this.trophyRules = new ArrayList<>();
+        this.trophyIndex = new TrophyIndex();
+        this.trophyWinners = new ArrayList<>();
+        this.round = new Round(players, deck, 0);
+    }
+
+    // starts a new game with the same players, reusing every object of the previous one
+    public void reset(long seed) {
+        random.reset(seed);
+        deck.reset(random.getDeckRandom());
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (player instanceof VirtualPlayer) {
+                ((VirtualPlayer) player).reset(random.getSeatRandom(seat));
+            } else {
+                player.reset();
+            }
+        }
+        rounds.clear();
+        trophies.clear();
+        trophyRules.clear();
+        trophyMask = 0;
+        trophyWinners.clear();
+        roundCounter = 0;
     }
 
     // add players
@@ -33,7 +77,9 @@ public class Game {
     }
 
     public void addVirtualPlayer(String name, StrategyType strategy) {
-        players.add(new VirtualPlayer(name, strategy));
+        VirtualPlayer player = new VirtualPlayer(name, strategy, random.getSeatRandom(players.size()));
+        player.takeSeat(this, players.size());
+        players.add(player);
     }
 
     public ArrayList<Player> getPlayers() {
@@ -77,336 +123,90 @@ public class Game {
         return winners;
     }
 
+    // jests keep their score up to date, see Jest.addCard()
     public void calculateAllScores() {
-        ScoreVisitorImpl visitor = new ScoreVisitorImpl();
         for (Player player : players) {
-            visitor.resetScore();
-            player.calculateScore(visitor);
+            player.setScore(player.getJest().getScore());
         }
     }
 
     // test assigning Trophies and choose best players
 
-    public void assignTrophies() {
-        if (this.trophies == null || this.trophies.isEmpty()) return;
-
-        for (Card trophy : this.trophies) {
-            Player winner = determineTrophyWinner(trophy);
+    // returns the winner of each trophy in the order of getTrophies() (null if nobody won it)
+    public ArrayList<Player> assignTrophies() {
+        ArrayList<Player> winners = trophyWinners;
+        winners.clear();
+        if (this.trophies == null || this.trophies.isEmpty()) return winners;
+
+        trophyIndex.build(players);
+        for (int i = 0; i < trophies.size(); i++) {
+            Card trophy = trophies.get(i);
+            TrophyRule rule = trophyRules.get(i);
+            int seat = trophyIndex.resolve(rule.getType(), rule.getSuit(), rule.getFace());
+            Player winner = seat < 0 ? null : players.get(seat);
             if (winner != null) {
                 winner.getJest().addCard(trophy);
+                // the next trophy is judged on the jest including this one
+                trophyIndex.update(seat, winner.getJest().getMask());
             }
+            winners.add(winner);
         }
+        return winners;
     }
 
-    private Player determineTrophyWinner(Card trophy) {
-        TrophyType tType  = trophy.getTrophyType();
-        return switch (tType) {
-            case HIGHEST_FACE -> evaluateHighestFace(trophy.getTrophySuit());
-            case LOWEST_FACE -> evaluateLowestFace(trophy.getTrophySuit());
-            case MAJORITY_FACE_VALUE -> evaluateMajorityFaceValue(trophy.getTrophyFace());
-            case JOKER -> evaluateJokerTrophy();
-            case BEST_JEST -> evaluateBestJest();
-            case BEST_JEST_NO_JOKER -> evaluateBestJestWithoutJoker();
-            default -> null;
-        };
+    public Deck getDeck(){
+        return deck;
     }
 
-    // test to check who is trophy winner
-
-    private Player evaluateHighestFace(Suit suit) {
-        int bestFaceValue = 0;
-        Player best = null;
-        ArrayList<Player> ties = new ArrayList<>();
-        for (Player player : players) {
-            for (Card card: player.getJest().getCards()){
-                // МОЖЕТ БЫТЬ ОШИБКА + функционал если у нас будет больше карт
-                if (suit.getStrength() == card.getSuitValue()){
-                    int val = card.getFaceValue();
-                    if (val > bestFaceValue) {
-                        bestFaceValue = val;
-                        best = player;
-                        ties.clear();
-                        ties.add(player);
-                    }
-                    else if (val == bestFaceValue){
-                        if(!ties.contains(player)){
-                            ties.add(player);
-                        }
-                    }
-                }
-            }
-        }
-        if (ties.isEmpty()) return null;
-        if (ties.size() == 1) return ties.getFirst();
-
-        // can be enhanced by adding more functionalities to break ties
-        return ties.getFirst();
+    public long getSeed() {
+        return random.getSeed();
     }
 
-    private Player evaluateLowestFace(Suit suit) {
-        // 4 because it's max in faceValues in Faces enum
-        int lowestFaceValue = 4;
-        ArrayList<Player> ties = new ArrayList<>();
-        for (Player player : players) {
-            for (Card card: player.getJest().getCards()){
-                if (suit.getStrength() == card.getSuitValue()){
-                    int val = card.getFaceValue();
-                    if (val < lowestFaceValue) {
-                        lowestFaceValue = val;
-                        ties.clear();
-                        ties.add(player);
-                    }
-                    else if (val == lowestFaceValue){
-                        if(!ties.contains(player)){
-                            ties.add(player);
-                        }
-                    }
-                }
-            }
-        }
-        if (ties.isEmpty()) return null;
-        if (ties.size() == 1) return ties.getFirst();
-
-        // can be enhanced by adding more functionalities to break ties
-        return ties.getFirst();
+    // the game has a single Round object, reset for every new round
+    public Round startNewRound() {
+        roundCounter++;
+        round.reset(roundCounter);
+        return round;
     }
 
-    private Player evaluateMajorityFaceValue(Faces face) {
-        int cardsCount = 0;
-        int maxCardsCount = -1;
-        ArrayList<Player> ties = new ArrayList<>();
-        for (Player player : players) {
-            for (Card card: player.getJest().getCards()){
-                if(card.getFaceValue() == face.getFaceValue()){
-                    cardsCount++;
-                }
-            }
-            if (cardsCount > maxCardsCount){
-                maxCardsCount = cardsCount;
-                ties.clear();
-                ties.add(player);
-            }
-            else if (cardsCount == maxCardsCount){
-                if(!ties.contains(player)){
-                    ties.add(player);
-                }
-            }
-        }
-        if (ties.isEmpty()) return null;
-        if (ties.size() == 1) return ties.getFirst();
-
-        return breakTieByStrongestSuitAmongFaceValue(ties, face);
+    // the round being played, the same object for every round of the game
+    public Round getRound() {
+        return round;
     }
 
-    private Player evaluateJokerTrophy() {
-        for (Player player: players){
-            for (Card card: player.getJest().getCards()) {
-                if (card instanceof Joker)
-                    return player;
-            }
-        }
-        return null;
+    // winner of each trophy once assignTrophies() ran, see there
+    public ArrayList<Player> getTrophyWinners() {
+        return trophyWinners;
     }
 
-    private Player evaluateBestJest() {
-        ArrayList<Player> ties = new ArrayList<>();
-        calculateAllScores();
-        int maxScore = -999;
-        for (Player player : players) {
-            if (player.getScore() > maxScore) {
-                maxScore = player.getScore();
-                ties.clear();
-                ties.add(player);
-            }
-            else if (player.getScore() == maxScore){
-                if (!ties.contains(player)){
-                    ties.add(player);
-                }
-            }
-
-        }
-
-        if (ties.isEmpty()) return null;
-        if (ties.size() == 1) return ties.getFirst();
-
-
-        return breakTieByHighestFaceValue(ties);
+    public int getRoundCounter() {
+        return roundCounter;
     }
 
-    private Player evaluateBestJestWithoutJoker(){
-        // test method maybe after add flag to check if player has a Joker or not
-        ArrayList<Player> ties = new ArrayList<>();
-        ArrayList<Player> candidates = new ArrayList<>(players);
-        calculateAllScores();
-        int maxScore = -999;
-        for (Player player : players) {
-            for (Card card: player.getJest().getCards()){
-                if (card instanceof Joker){
-                    candidates.remove(player);
-                    break;
-                }
-            }
-        }
-        for (Player player : candidates){
-            if (player.getScore() > maxScore) {
-                maxScore = player.getScore();
-                ties.clear();
-                ties.add(player);
-            }
-            else if (player.getScore() == maxScore){
-                if (!ties.contains(player)){
-                    ties.add(player);
-                }
-            }
-
-        }
-
-        if (ties.isEmpty()) return null;
-        if (ties.size() == 1) return ties.getFirst();
-
-
-        return breakTieByHighestFaceValue(ties);
+    public ArrayList<Card> getTrophies() {
+        return trophies;
     }
 
-    private Player breakTieByHighestFaceValue(ArrayList<Player> ties) {
-        Player best = null;
-        int bestFaceValue = -1;
-        int bestSuitValue = -1;
-        for (Player player : ties) {
-            for (Card card: player.getJest().getCards()){
-                if (card instanceof SuitCard){
-                    int fv = card.getFaceValue();
-                    int sv = card.getSuitValue();
-                    if (fv > bestFaceValue || (fv == bestFaceValue && sv > bestSuitValue)) {
-                        bestFaceValue = fv;
-                        bestSuitValue = sv;
-                        best = player;
-                    }
-                }
-            }
-        }
-
-
-        return best;
+    public boolean isTrophy(Card card) {
+        return CardSet.contains(trophyMask, card);
     }
 
-    private Player breakTieByStrongestSuitAmongFaceValue(ArrayList<Player> ties,  Faces face) {
-        Player best = null;
-        int bestStrength = -1;
-        for (Player player : ties) {
-            int playerBestRank = -1;
-            for (Card card: player.getJest().getCards()){
-                if (card instanceof SuitCard && ((SuitCard)card).getFaceValue() == face.getFaceValue()) {
-                    int rank = card.getSuitValue();
-                    playerBestRank = Math.max(playerBestRank, rank);
-                }
-            }
-            if (playerBestRank > bestStrength) {
-                best = player;
-                bestStrength = playerBestRank;
-            }
-            // maybe if we have the same suits we can check for this
-            else if (playerBestRank == bestStrength) {
-                continue;
-            }
-        }
-        return best;
+    // CardSet of the trophies of this game
+    public int getTrophyMask() {
+        return trophyMask;
     }
 
-    public Deck getDeck(){
-        return deck;
+    // rule of each trophy, in the order of getTrophies()
+    public ArrayList<TrophyRule> getTrophyRules() {
+        return trophyRules;
     }
 
 
+    // trophy rules come from the shared TrophyRule table, the cards themselves are left untouched
     public void assignTrophyType() {
+        trophyRules.clear();
         for (Card trophy : trophies) {
-            if (trophy instanceof Joker) {
-                trophy.setTrophyType(TrophyType.BEST_JEST);
-            }
-            if (trophy instanceof SuitCard) {
-                // Сердечки
-                if (((SuitCard) trophy).getSuit() == Suit.HEARTS) {
-                    trophy.setTrophyType(TrophyType.JOKER);
-                }
-                // Червы
-                else if (((SuitCard) trophy).getSuit() == Suit.CLUBS) {
-                    if (((SuitCard) trophy).getFaces() != Faces.TWO && ((SuitCard) trophy).getFaces() != Faces.THREE) {
-                        if (((SuitCard) trophy).getFaces() == Faces.FOUR) {
-                            TrophyType type = TrophyType.LOWEST_FACE;
-                            trophy.setTrophySuit(Suit.SPADES);
-//                            type.setSuit(Suit.SPADES);
-                            trophy.setTrophyType(type);
-                        } else {
-                            TrophyType type = TrophyType.HIGHEST_FACE;
-                            trophy.setTrophySuit(Suit.SPADES);
-//                            type.setSuit(Suit.SPADES);
-                            trophy.setTrophyType(type);
-                        }
-                    } else {
-                        if (((SuitCard) trophy).getFaces() == Faces.THREE) {
-                            TrophyType type = TrophyType.HIGHEST_FACE;
-                            trophy.setTrophySuit(Suit.HEARTS);
-//                            type.setSuit(Suit.HEARTS);
-                            trophy.setTrophyType(type);
-                        } else {
-                            TrophyType type = TrophyType.LOWEST_FACE;
-                            trophy.setTrophySuit(Suit.HEARTS);
-//                            type.setSuit(Suit.HEARTS);
-                            trophy.setTrophyType(type);
-                        }
-                    }
-                    // Пики
-                } else if (((SuitCard) trophy).getSuit() == Suit.SPADES) {
-                    if (((SuitCard) trophy).getFaces() != Faces.THREE && ((SuitCard) trophy).getFaces() != Faces.TWO) {
-                        if (((SuitCard) trophy).getFaces() == Faces.FOUR) {
-                            TrophyType type = TrophyType.LOWEST_FACE;
-                            trophy.setTrophySuit(Suit.CLUBS);
-//                            type.setSuit(Suit.CLUBS);
-                            trophy.setTrophyType(type);
-                        } else {
-                            TrophyType type = TrophyType.HIGHEST_FACE;
-                            trophy.setTrophySuit(Suit.CLUBS);
-//                            type.setSuit(Suit.CLUBS);
-                            trophy.setTrophyType(type);
-                        }
-                    } else {
-                        if (((SuitCard) trophy).getFaces() == Faces.THREE) {
-                            TrophyType type = TrophyType.MAJORITY_FACE_VALUE;
-                            trophy.setTrophyFace(Faces.TWO);
-//                            type.setFace(Faces.TWO);
-                            trophy.setTrophyType(type);
-                        } else {
-                            TrophyType type = TrophyType.MAJORITY_FACE_VALUE;
-                            trophy.setTrophyFace(Faces.THREE);
-//                            type.setFace(Faces.THREE);
-                            trophy.setTrophyType(type);
-                        }
-                    }
-                }
-                // Бубна
-                else {
-                    if (((SuitCard) trophy).getFaces() == Faces.FOUR) {
-                        trophy.setTrophyType(TrophyType.BEST_JEST_NO_JOKER);
-                    } else if (((SuitCard) trophy).getFaces() == Faces.ACE) {
-                        TrophyType type = TrophyType.MAJORITY_FACE_VALUE;
-                        trophy.setTrophyFace(Faces.FOUR);
-//                        type.setFace(Faces.FOUR);
-                        trophy.setTrophyType(type);
-                    } else {
-                        if (((SuitCard) trophy).getFaces() == Faces.TWO) {
-                            TrophyType type = TrophyType.HIGHEST_FACE;
-                            trophy.setTrophySuit(Suit.DIAMONDS);
-//                            type.setSuit(Suit.DIAMONDS);
-                            trophy.setTrophyType(type);
-                        } else {
-                            TrophyType type = TrophyType.LOWEST_FACE;
-                            trophy.setTrophySuit(Suit.DIAMONDS);
-//                            type.setSuit(Suit.DIAMONDS);
-                            trophy.setTrophyType(type);
-                        }
-                    }
-                }
-            }
+            trophyRules.add(TrophyRule.of(trophy));
         }
     }
 
@@ -414,8 +214,8 @@ public class Game {
         int trophiesCount = (playerCount == 3) ? 2 : 1;
         for (int i = 0; i < trophiesCount; i++) {
             Card trophy = deck.dealCard();
-            trophy.setTrophy(true);
             trophies.add(trophy);
+            trophyMask |= CardSet.bit(trophy);
         }
         assignTrophyType();
         return trophies;
@@ -424,8 +224,8 @@ public class Game {
 
     public String trophiesInfo() {
         StringBuilder sb = new StringBuilder();
-        for (Card card : trophies) {
-            sb.append(card).append(": ").append(card.trophyInfo()).append("\n");
+        for (int i = 0; i < trophies.size(); i++) {
+            sb.append(trophies.get(i)).append(": ").append(trophyRules.get(i)).append("\n");
         }
         return sb.toString();
     }
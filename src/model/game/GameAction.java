@@ -0,0 +1,93 @@
+package model.game;
+
+// One move of a player. Every possible action exists once, so actions are compared with ==.
+// Ids are dense (0 and 1 the offers, then two choices per seat) for array-indexed search tables.
+public final class GameAction {
+    public static final int COUNT = 2 + Game.MAX_SEATS * 2;
+
+    public enum Type {
+        OFFER,
+        CHOOSE
+    }
+
+    private static final GameAction[] OFFERS = {
+            new GameAction(Type.OFFER, 0, -1, true),
+            new GameAction(Type.OFFER, 1, -1, true)
+    };
+    // [offerSeat * 2 + (faceUp ? 0 : 1)]
+    private static final GameAction[] CHOICES = new GameAction[Game.MAX_SEATS * 2];
+    private static final GameAction[] BY_ID = new GameAction[COUNT];
+
+    static {
+        for (int seat = 0; seat < Game.MAX_SEATS; seat++) {
+            CHOICES[seat * 2] = new GameAction(Type.CHOOSE, -1, seat, true);
+            CHOICES[seat * 2 + 1] = new GameAction(Type.CHOOSE, -1, seat, false);
+        }
+        for (int id = 0; id < COUNT; id++) {
+            BY_ID[id] = id < 2 ? OFFERS[id] : CHOICES[id - 2];
+        }
+    }
+
+    private final Type type;
+    private final int handIndex;
+    private final int offerSeat;
+    private final boolean faceUp;
+
+    private GameAction(Type type, int handIndex, int offerSeat, boolean faceUp) {
+        this.type = type;
+        this.handIndex = handIndex;
+        this.offerSeat = offerSeat;
+        this.faceUp = faceUp;
+    }
+
+    // the hand card at faceUpIndex goes face up, the other one face down
+    public static GameAction offer(int faceUpIndex) {
+        if (faceUpIndex < 0 || faceUpIndex > 1) {
+            throw new IllegalArgumentException("An offer is made of the 2 cards in hand: " + faceUpIndex);
+        }
+        return OFFERS[faceUpIndex];
+    }
+
+    // takes the face-up or face-down card of the offer made by offerSeat
+    public static GameAction choose(int offerSeat, boolean faceUp) {
+        if (offerSeat < 0 || offerSeat >= Game.MAX_SEATS) {
+            throw new IllegalArgumentException("No such seat: " + offerSeat);
+        }
+        return CHOICES[offerSeat * 2 + (faceUp ? 0 : 1)];
+    }
+
+    public static GameAction of(int id) {
+        return BY_ID[id];
+    }
+
+    public int getId() {
+        return type == Type.OFFER ? handIndex : 2 + offerSeat * 2 + (faceUp ? 0 : 1);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // OFFER only
+    public int getFaceUpIndex() {
+        return handIndex;
+    }
+
+    // CHOOSE only
+    public int getOfferSeat() {
+        return offerSeat;
+    }
+
+    // CHOOSE only
+    public boolean isFaceUp() {
+        return faceUp;
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.OFFER) {
+            return "offer with card " + handIndex + " face up";
+        }
+        return "take the " + (faceUp ? "face-up" : "face-down") + " card of seat " + offerSeat;
+    }
+}
@@ -0,0 +1,30 @@
+package model.game;
+
+// Events of a game driven by a GameStateMachine, in play order. Cards are CardSet indices and
+// every event carries the real cards: a listener that models one seat's view must itself ignore
+// what that seat cannot see. Strategies of virtual players that implement this interface are
+// registered by GameStateMachine.start().
+public interface GameListener {
+    // the trophies are chosen, nothing is dealt yet
+    default void gameStarted(Game game) {
+    }
+
+    // the hands of the round are dealt
+    default void roundStarted(Game game) {
+    }
+
+    default void offerMade(int seat, int faceUpCard, int faceDownCard) {
+    }
+
+    default void cardTaken(int seat, int offerSeat, int card, boolean faceUp) {
+    }
+
+    // every seat has taken a card: the leftovers go back to the deck, or to their owners' jests
+    // after the last round
+    default void roundEnded(Game game) {
+    }
+
+    // scores and trophies are final
+    default void gameFinished(Game game) {
+    }
+}
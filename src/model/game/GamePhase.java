@@ -0,0 +1,10 @@
+package model.game;
+
+public enum GamePhase {
+    // players turn their two dealt cards into an offer, in seat order
+    OFFER,
+    // players take one card from an offer, starting with the best face-up card
+    CHOOSE,
+    // remaining offer cards, trophies and scores are settled
+    FINISHED
+}
@@ -0,0 +1,43 @@
+package model.game;
+
+import java.util.SplittableRandom;
+
+// All randomness of one game, derived from a single seed: the deck and every seat get their own
+// split stream, so a game replays bit-for-bit from its seed and no stream is shared between games.
+public class GameRandom {
+    private long seed;
+    private SplittableRandom deckRandom;
+    private final SplittableRandom[] seatRandoms;
+
+    public GameRandom(long seed) {
+        this.seatRandoms = new SplittableRandom[Game.MAX_SEATS];
+        reset(seed);
+    }
+
+    // SplittableRandom cannot be reseeded, so a reset creates the Game.MAX_SEATS + 1 streams again
+    public final void reset(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.deckRandom = root.split();
+        // every seat is split up front so a seat's stream does not depend on how many players joined
+        for (int seat = 0; seat < Game.MAX_SEATS; seat++) {
+            seatRandoms[seat] = root.split();
+        }
+    }
+
+    public static GameRandom unseeded() {
+        return new GameRandom(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SplittableRandom getDeckRandom() {
+        return deckRandom;
+    }
+
+    public SplittableRandom getSeatRandom(int seat) {
+        return seatRandoms[seat];
+    }
+}
@@ -0,0 +1,234 @@
+package model.game;
+
+import model.cards.Card;
+import model.players.Offer;
+import model.players.Player;
+import model.players.VirtualPlayer;
+import model.players.strategies.PlayStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The game as an explicit state machine over a Game model. Dealing and the end of rounds and of
+// the game happen inside apply(); a driver only sees the phase, the seat to play and its legal
+// actions, and applies one action at a time. step() lets a virtual player choose its own action.
+// Listeners hear every event of the game.
+public class GameStateMachine {
+    private final Game game;
+    private final ArrayList<Player> players;
+    // reused by getLegalActions()
+    private final ArrayList<GameAction> legalActions;
+    private final ArrayList<GameListener> listeners = new ArrayList<>();
+    // listeners plus the strategies that listen, rebuilt by start()
+    private final ArrayList<GameListener> activeListeners = new ArrayList<>();
+    private Round round;
+    private GamePhase phase;
+    private int currentSeat;
+    private ArrayList<Player> trophyWinners;
+
+    public GameStateMachine(Game game) {
+        this.game = game;
+        this.players = game.getPlayers();
+        this.legalActions = new ArrayList<>(Game.MAX_SEATS * 2);
+        this.phase = GamePhase.FINISHED;
+    }
+
+    // starts the game on the model as it is: after the players were added, or after game.reset(seed)
+    public void start() {
+        if (players.size() < 3 || players.size() > Game.MAX_SEATS) {
+            throw new IllegalStateException("Jest supports 3 or 4 players only.");
+        }
+        trophyWinners = null;
+        activeListeners.clear();
+        activeListeners.addAll(listeners);
+        for (Player player : players) {
+            if (player instanceof VirtualPlayer virtual && virtual.getStrategy() instanceof GameListener listener) {
+                activeListeners.add(listener);
+            }
+        }
+        game.chooseTrophies(players.size());
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).gameStarted(game);
+        }
+        startRound();
+    }
+
+    // heard from the next start() on
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public GamePhase getPhase() {
+        return phase;
+    }
+
+    public boolean isFinished() {
+        return phase == GamePhase.FINISHED;
+    }
+
+    public Round getRound() {
+        return round;
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public Player getCurrentPlayer() {
+        return players.get(currentSeat);
+    }
+
+    // winner of each trophy in the order of game.getTrophies(), null until the game is finished
+    public ArrayList<Player> getTrophyWinners() {
+        return trophyWinners;
+    }
+
+    // legal actions of the current seat; the list is reused, read it before the next call
+    public List<GameAction> getLegalActions() {
+        legalActions.clear();
+        if (phase == GamePhase.OFFER) {
+            legalActions.add(GameAction.offer(0));
+            legalActions.add(GameAction.offer(1));
+        } else if (phase == GamePhase.CHOOSE) {
+            for (int rest = choosableOffers(); rest != 0; rest &= rest - 1) {
+                int seat = Integer.numberOfTrailingZeros(rest);
+                legalActions.add(GameAction.choose(seat, true));
+                legalActions.add(GameAction.choose(seat, false));
+            }
+        }
+        return legalActions;
+    }
+
+    public boolean isLegal(GameAction action) {
+        return switch (phase) {
+            case OFFER -> action.getType() == GameAction.Type.OFFER;
+            case CHOOSE -> action.getType() == GameAction.Type.CHOOSE
+                    && (choosableOffers() & (1 << action.getOfferSeat())) != 0;
+            case FINISHED -> false;
+        };
+    }
+
+    // plays the action for the current seat and moves on to the next seat, round or the end of the game
+    public void apply(GameAction action) {
+        if (!isLegal(action)) {
+            throw new IllegalArgumentException("Illegal action in phase " + phase + ": " + action);
+        }
+        if (action.getType() == GameAction.Type.OFFER) {
+            applyOffer(action.getFaceUpIndex());
+        } else {
+            applyChoice(action.getOfferSeat(), action.isFaceUp());
+        }
+    }
+
+    // action the strategy of the current virtual player picks, without applying it
+    public GameAction decide() {
+        if (phase == GamePhase.FINISHED) {
+            throw new IllegalStateException("The game is over.");
+        }
+        Player player = getCurrentPlayer();
+        if (!(player instanceof VirtualPlayer)) {
+            throw new IllegalStateException(player.getName() + " is not a virtual player.");
+        }
+        PlayStrategy strategy = ((VirtualPlayer) player).getStrategy();
+        if (phase == GamePhase.OFFER) {
+            return GameAction.offer(strategy.chooseFaceUpIndex(player));
+        }
+        Offer offer = strategy.chooseOffer(round.getAvailableOffers(), player);
+        if (offer == null) {
+            throw new IllegalStateException(player.getName() + " found no offer to choose from.");
+        }
+        return GameAction.choose(seatOf(offer.getOwner()), strategy.chooseFaceUp(offer, player));
+    }
+
+    // plays one action of a virtual player; false when the game is over or a human has to act
+    public boolean step() {
+        if (phase == GamePhase.FINISHED || !getCurrentPlayer().isVirtual()) {
+            return false;
+        }
+        apply(decide());
+        return true;
+    }
+
+    // complete offers of the other seats, or the current seat's own offer once no other is left
+    private int choosableOffers() {
+        int complete = round.getCompleteOffersMask();
+        int others = complete & ~(1 << currentSeat);
+        return others != 0 ? others : complete;
+    }
+
+    private void startRound() {
+        round = game.startNewRound();
+        round.dealCards();
+        phase = GamePhase.OFFER;
+        currentSeat = 0;
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).roundStarted(game);
+        }
+    }
+
+    private void applyOffer(int faceUpIndex) {
+        Player player = getCurrentPlayer();
+        ArrayList<Card> hand = player.getHand();
+        Card faceUp = hand.get(faceUpIndex);
+        Card faceDown = hand.get(1 - faceUpIndex);
+        round.addOffer(player.placeOffer(faceUp, faceDown));
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).offerMade(currentSeat, faceUp.getIndex(), faceDown.getIndex());
+        }
+        if (++currentSeat == players.size()) {
+            phase = GamePhase.CHOOSE;
+            currentSeat = round.determineStartingSeat();
+        }
+    }
+
+    private void applyChoice(int offerSeat, boolean faceUp) {
+        Player player = getCurrentPlayer();
+        Card card = round.getOffer(offerSeat).takeCard(faceUp);
+        player.getJest().addCard(card, !faceUp);
+        round.recordTurn(currentSeat, offerSeat);
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).cardTaken(currentSeat, offerSeat, card.getIndex(), faceUp);
+        }
+        if (round.getPlayedCount() < players.size()) {
+            currentSeat = round.getNextSeat(offerSeat);
+        } else {
+            endRound();
+        }
+    }
+
+    private void endRound() {
+        round.setIsOver(true);
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).roundEnded(game);
+        }
+        if (!game.getDeck().isEmpty()) {
+            round.returnRemainingCardsToDeck();
+            startRound();
+            return;
+        }
+        for (Player player : players) {
+            player.takeRemainingOfferCard();
+        }
+        trophyWinners = game.assignTrophies();
+        game.calculateAllScores();
+        phase = GamePhase.FINISHED;
+        for (int i = 0; i < activeListeners.size(); i++) {
+            activeListeners.get(i).gameFinished(game);
+        }
+    }
+
+    private int seatOf(Player player) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat) == player) return seat;
+        }
+        throw new IllegalArgumentException("Player is not part of this game");
+    }
+}
@@ -1,50 +1,105 @@
 package model.game;
 
+import model.cards.Card;
 import model.cards.Deck;
 import model.players.Offer;
 import model.players.Player;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 
 public class Round {
     private ArrayList<Offer> offers;
     private ArrayList<Player> players;
     private boolean isOver;
-    private static int roundCounter = 0;
+    private int roundNumber;
     private final Deck deck;
 
-    // test
-    private ArrayList<Player> alreadyPlayed;
+    // choosing phase bookkeeping by seat (index in players), bit i is seat i
+    private final Offer[] offerBySeat;
+    private final int[] faceUpRank;
+    private int playedMask;
+    private int completeMask;
+    // reused by getAvailableOffers() so a turn allocates nothing
+    private final ArrayList<Offer> availableOffers;
 
 
-    public Round(ArrayList<Player> players, Deck deck) {
+    public Round(ArrayList<Player> players, Deck deck, int roundNumber) {
         this.players = players;
         this.offers = new ArrayList<>();
         this.deck = deck;
-        roundCounter++;
+        this.roundNumber = roundNumber;
+        this.offerBySeat = new Offer[Game.MAX_SEATS];
+        this.faceUpRank = new int[Game.MAX_SEATS];
+        this.availableOffers = new ArrayList<>(Game.MAX_SEATS);
     }
 
-    public static int getRoundCounter() {
-        return roundCounter;
+    // empties the round so the same object can host the next one
+    public void reset(int roundNumber) {
+        this.roundNumber = roundNumber;
+        offers.clear();
+        Arrays.fill(offerBySeat, null);
+        playedMask = 0;
+        completeMask = 0;
+        isOver = false;
     }
 
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    // complete offers in seat order; the list is reused, read it before the next turn
     public ArrayList<Offer> getAvailableOffers() {
-        ArrayList<Offer> availableOffers = new ArrayList<>();
-        for (Offer offer : offers) {
-            if (offer.isComplete()) {
-                availableOffers.add(offer);
-            }
+        availableOffers.clear();
+        for (int rest = completeMask; rest != 0; rest &= rest - 1) {
+            availableOffers.add(offerBySeat[Integer.numberOfTrailingZeros(rest)]);
         }
         return availableOffers;
     }
 
-    public Player getNextPlayer(ArrayList<Player> alreadyPlayed, Offer takenOffer){
-        Player nextPlayer = takenOffer.getOwner();
-        if (alreadyPlayed.contains(nextPlayer)) {
-            nextPlayer = compareFaceUpCards();
+    // bit i is set when seat i's offer still holds both cards
+    public int getCompleteOffersMask() {
+        return completeMask;
+    }
+
+    // bit i is set when seat i has already taken a card this round
+    public int getPlayedMask() {
+        return playedMask;
+    }
+
+    public int getPlayedCount() {
+        return Integer.bitCount(playedMask);
+    }
+
+    // offer made by the seat this round, null before it was made
+    public Offer getOffer(int seat) {
+        return offerBySeat[seat];
+    }
+
+    // called once per turn, after the player took a card from takenOffer
+    public void recordTurn(Player player, Offer takenOffer) {
+        recordTurn(seatOf(player), takenOffer == null ? -1 : seatOf(takenOffer.getOwner()));
+    }
+
+    // offerSeat is the owner of the offer the card was taken from, -1 if none
+    public void recordTurn(int seat, int offerSeat) {
+        playedMask |= 1 << seat;
+        if (offerSeat >= 0) {
+            completeMask &= ~(1 << offerSeat);
+            faceUpRank[offerSeat] = rankOf(offerBySeat[offerSeat]);
         }
-        return nextPlayer;
+    }
+
+    public Player getNextPlayer(Offer takenOffer){
+        return players.get(getNextSeat(seatOf(takenOffer.getOwner())));
+    }
+
+    // the owner of the taken offer plays next, unless it already played this round
+    public int getNextSeat(int takenOfferSeat) {
+        if ((playedMask & (1 << takenOfferSeat)) != 0) {
+            return compareFaceUpCards();
+        }
+        return takenOfferSeat;
     }
 
     public boolean isOver(){
@@ -59,18 +114,10 @@ public class Round {
         return players;
     }
 
-    public ArrayList<Player> getAlreadyPlayed() {
-        return alreadyPlayed;
-    }
-
     public ArrayList<Offer> getOffers() {
         return offers;
     }
 
-    public void setAlreadyPlayed(ArrayList<Player> alreadyPlayed) {
-        this.alreadyPlayed = alreadyPlayed;
-    }
-
     public void setIsOver(boolean isOver) {
         this.isOver = isOver;
     }
@@ -86,41 +133,66 @@ public class Round {
 
     public void addOffer(Offer offer) {
         offers.add(offer);
+        if (offer == null) return;
+        int seat = seatOf(offer.getOwner());
+        offerBySeat[seat] = offer;
+        faceUpRank[seat] = rankOf(offer);
+        if (offer.isComplete()) completeMask |= 1 << seat;
     }
 
     public Player determineStartingPlayer(){
-        Offer bestOffer = findBestOffer(offers);
-        if (bestOffer == null) {
-            return players.getFirst();
+        return players.get(determineStartingSeat());
+    }
+
+    public int determineStartingSeat() {
+        int best = bestFaceUpSeat(0);
+        return best < 0 ? 0 : best;
+    }
+
+    private int seatOf(Player player) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat) == player) return seat;
         }
-        return bestOffer.getOwner();
+        throw new IllegalArgumentException("Player is not part of this round");
     }
 
-    private Player compareFaceUpCards(){
-        ArrayList<Player> playersToCompare = new ArrayList<>(this.players);
-        ArrayList<Offer> offersToCompare = new ArrayList<>();
-        for (Player player : players) {
-            if (this.alreadyPlayed.contains(player)) {
-                playersToCompare.remove(player);
-            }
-            else{
-                offersToCompare.add(player.getOffer());
-            }
+    // face value first, suit strength breaks ties; -1 without a face-up card
+    private static int rankOf(Offer offer) {
+        Card faceUp = offer.getFaceUpCard();
+        return faceUp == null ? -1 : faceUp.getFaceValue() * 8 + faceUp.getSuitValue();
+    }
+
+    // seat with the strongest face-up card among the seats not in excludedMask, -1 if none
+    private int bestFaceUpSeat(int excludedMask) {
+        int best = -1;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if ((excludedMask & (1 << seat)) != 0 || offerBySeat[seat] == null) continue;
+            if (faceUpRank[seat] >= 0 && (best < 0 || faceUpRank[seat] > faceUpRank[best])) best = seat;
         }
-        Offer bestOffer = findBestOffer(offersToCompare);
-        return bestOffer.getOwner();
+        return best;
+    }
 
+    private int compareFaceUpCards(){
+        int best = bestFaceUpSeat(playedMask);
+        if (best < 0) {
+            // nobody left shows a face-up card: the first seat still to play goes next
+            best = Integer.numberOfTrailingZeros(~playedMask);
+        }
+        return best;
     }
 
 
     public Offer findBestOffer(ArrayList<Offer> offers){
-        return offers.stream()
-                .filter(offer -> offer.getFaceUpCard() != null)
-                .max(Comparator
-                        .comparingInt((Offer o) -> o.getFaceUpCard().getFaceValue())
-                        .thenComparingInt(o -> o.getFaceUpCard().getSuitValue())
-                )
-                .orElse(null);
+        Offer best = null;
+        int bestRank = -1;
+        for (Offer offer : offers) {
+            int rank = rankOf(offer);
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = offer;
+            }
+        }
+        return best;
     }
 
     public void returnRemainingCardsToDeck(){
@@ -140,8 +212,3 @@ public class Round {
 
     }
 }
-
-
-
-
-
@@ -0,0 +1,154 @@
+package model.game;
+
+import model.cards.CardSet;
+import model.cards.Faces;
+import model.cards.Suit;
+import model.cards.TrophyType;
+import model.players.Player;
+import model.players.ScoreTable;
+
+import java.util.List;
+
+// Per-seat summary of the jests from which every trophy is resolved without rescanning cards.
+// Faces and suits are stored as ordinals, -1 means "none".
+public class TrophyIndex {
+    private int seatCount;
+    private final int[] jestMasks = new int[Game.MAX_SEATS];
+    private final int[] scores = new int[Game.MAX_SEATS];
+    // [seat * 4 + suit]
+    private final int[] suitMinFace = new int[Game.MAX_SEATS * 4];
+    private final int[] suitMaxFace = new int[Game.MAX_SEATS * 4];
+    // [seat * 4 + face]
+    private final int[] faceCount = new int[Game.MAX_SEATS * 4];
+    private final int[] faceBestSuit = new int[Game.MAX_SEATS * 4];
+    // strongest suit card of the seat as face * 4 + suit, the Best Jest tie-break
+    private final int[] bestCardKey = new int[Game.MAX_SEATS];
+    private int jokerHolder;
+
+    public void build(List<Player> players) {
+        seatCount = players.size();
+        for (int seat = 0; seat < seatCount; seat++) {
+            summarize(seat, players.get(seat).getJest().getMask());
+        }
+        refreshJokerHolder();
+    }
+
+    public void build(int[] jests, int seatCount) {
+        this.seatCount = seatCount;
+        for (int seat = 0; seat < seatCount; seat++) {
+            summarize(seat, jests[seat]);
+        }
+        refreshJokerHolder();
+    }
+
+    // call after a seat's jest changed, e.g. when it received a trophy
+    public void update(int seat, int jestMask) {
+        summarize(seat, jestMask);
+        refreshJokerHolder();
+    }
+
+    private void summarize(int seat, int mask) {
+        jestMasks[seat] = mask;
+        scores[seat] = ScoreTable.score(mask);
+        int bestKey = -1;
+        for (int suit = 0; suit < 4; suit++) {
+            int faces = CardSet.suitFaces(mask, suit);
+            suitMinFace[seat * 4 + suit] = faces == 0 ? -1 : Integer.numberOfTrailingZeros(faces);
+            suitMaxFace[seat * 4 + suit] = faces == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(faces);
+        }
+        for (int face = 0; face < 4; face++) {
+            int suits = CardSet.faceSuits(mask, face);
+            faceCount[seat * 4 + face] = Integer.bitCount(suits);
+            faceBestSuit[seat * 4 + face] = suits == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(suits);
+            if (suits != 0) bestKey = face * 4 + faceBestSuit[seat * 4 + face];
+        }
+        bestCardKey[seat] = bestKey;
+    }
+
+    private void refreshJokerHolder() {
+        jokerHolder = -1;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (CardSet.hasJoker(jestMasks[seat])) {
+                jokerHolder = seat;
+                break;
+            }
+        }
+    }
+
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    public int getJokerHolder() {
+        return jokerHolder;
+    }
+
+    // seat winning the trophy, -1 if nobody qualifies
+    public int resolve(TrophyType type, Suit suit, Faces face) {
+        return switch (type) {
+            case HIGHEST_FACE -> highestFace(suit.ordinal());
+            case LOWEST_FACE -> lowestFace(suit.ordinal());
+            case MAJORITY_FACE_VALUE -> majorityFace(face.ordinal());
+            case JOKER -> jokerHolder;
+            case BEST_JEST -> bestJest(-1);
+            case BEST_JEST_NO_JOKER -> bestJest(jokerHolder);
+            default -> -1;
+        };
+    }
+
+    private int highestFace(int suit) {
+        int best = -1;
+        for (int seat = 0; seat < seatCount; seat++) {
+            int face = suitMaxFace[seat * 4 + suit];
+            if (face >= 0 && (best < 0 || face > suitMaxFace[best * 4 + suit])) best = seat;
+        }
+        return best;
+    }
+
+    private int lowestFace(int suit) {
+        int best = -1;
+        for (int seat = 0; seat < seatCount; seat++) {
+            int face = suitMinFace[seat * 4 + suit];
+            if (face >= 0 && (best < 0 || face < suitMinFace[best * 4 + suit])) best = seat;
+        }
+        return best;
+    }
+
+    // most cards of the face, ties go to the holder of the strongest suit of that face
+    private int majorityFace(int face) {
+        int best = -1;
+        for (int seat = 0; seat < seatCount; seat++) {
+            int count = faceCount[seat * 4 + face];
+            if (count == 0) continue;
+            if (best < 0 || count > faceCount[best * 4 + face]
+                    || (count == faceCount[best * 4 + face] && faceBestSuit[seat * 4 + face] > faceBestSuit[best * 4 + face])) {
+                best = seat;
+            }
+        }
+        return best;
+    }
+
+    // highest score, ties go to the holder of the strongest card (face, then suit)
+    private int bestJest(int excludedSeat) {
+        int best = -1;
+        boolean tied = false;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == excludedSeat) continue;
+            if (best < 0 || scores[seat] > scores[best]) {
+                best = seat;
+                tied = false;
+            } else if (scores[seat] == scores[best]) {
+                tied = true;
+            }
+        }
+        if (!tied) return best;
+
+        int maxScore = scores[best];
+        int winner = -1;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == excludedSeat || scores[seat] != maxScore || bestCardKey[seat] < 0) continue;
+            if (winner < 0 || bestCardKey[seat] > bestCardKey[winner]) winner = seat;
+        }
+        return winner;
+    }
+}
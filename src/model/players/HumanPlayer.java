@@ -20,10 +20,7 @@ public class HumanPlayer extends Player {
         Card faceDownCard = hand.get(faceDownIndex);
 
 
-        Offer playerOffer = new Offer(this, faceUpCard, faceDownCard);
-        offer = playerOffer;
-        hand.clear();
-        return playerOffer;
+        return placeOffer(faceUpCard, faceDownCard);
     }
 
     @Override
@@ -33,7 +30,7 @@ public class HumanPlayer extends Player {
             return null;
         }
         chosenOffer.takeCard(isFaceUp);
-        this.jest.addCard(takenCard);
+        this.jest.addCard(takenCard, !isFaceUp);
         return chosenOffer;
     }
 
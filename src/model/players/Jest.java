@@ -1,24 +1,97 @@
 package model.players;
 
 import model.cards.Card;
+import model.cards.CardSet;
+import model.cards.Suit;
 
 import java.util.ArrayList;
 
 public class Jest {
     private ArrayList<Card> cards;
+    // kept up to date on every addCard so reading them is O(1)
+    private int mask;
+    // cards taken face down, which the other players never saw
+    private int hiddenMask;
+    private int score;
+    private boolean hasJoker;
+    private int heartCount;
 
     public Jest() {
         this.cards = new ArrayList<>();
+        reset();
+    }
+
+    public final void reset() {
+        cards.clear();
+        mask = CardSet.EMPTY;
+        hiddenMask = CardSet.EMPTY;
+        score = ScoreTable.score(CardSet.EMPTY);
+        hasJoker = false;
+        heartCount = 0;
     }
 
     public void addCard(Card card) {
+        addCard(card, false);
+    }
+
+    // a card is in one jest at most once, so the list and the masks always agree
+    public void addCard(Card card, boolean hidden) {
+        int bit = CardSet.bit(card);
+        if ((mask & bit) != 0) {
+            throw new IllegalArgumentException(card + " is already in the jest.");
+        }
         cards.add(card);
+        if (hidden) hiddenMask |= bit;
+        mask |= bit;
+        score = ScoreTable.score(mask);
+        if (CardSet.isJoker(card.getIndex())) hasJoker = true;
+        else if (CardSet.suitOrdinal(card.getIndex()) == Suit.HEARTS.ordinal()) heartCount++;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // score the jest would have with one more card, without touching the jest
+    public int scoreWith(Card card) {
+        return ScoreTable.score(mask | CardSet.bit(card));
+    }
+
+    public int scoreWith(int cardMask) {
+        return ScoreTable.score(mask | cardMask);
+    }
+
+    public int getHeartCount() {
+        return heartCount;
+    }
+
+    // 4-bit mask of the faces held in a suit, bit i is Faces.values()[i]
+    public int getSuitFaces(Suit suit) {
+        return CardSet.suitFaces(mask, suit);
     }
 
     public ArrayList<Card> getCards() {
         return cards;
     }
 
+    // CardSet of the cards in the jest
+    public int getMask() {
+        return mask;
+    }
+
+    // CardSet of the cards taken face down, see addCard(Card, boolean)
+    public int getHiddenMask() {
+        return hiddenMask;
+    }
+
+    public boolean contains(Card card) {
+        return CardSet.contains(mask, card);
+    }
+
+    public boolean hasJoker() {
+        return hasJoker;
+    }
+
     public void accept(ScoreVisitor visitor) {
         for (Card card : cards) {
             visitor.visit(card);
@@ -1,6 +1,7 @@
 package model.players;
 
 import model.cards.Card;
+import model.cards.CardSet;
 
 import java.util.ArrayList;
 
@@ -15,6 +16,12 @@ public class Offer {
         this.faceDownCard = faceDownCard;
     }
 
+    // reuses the offer for a new round
+    public void reset(Card faceUpCard, Card faceDownCard) {
+        this.faceUpCard = faceUpCard;
+        this.faceDownCard = faceDownCard;
+    }
+
     public Player getOwner() {
         return owner;
     }
@@ -56,6 +63,14 @@ public class Offer {
         return cards;
     }
 
+    // CardSet of the cards still in the offer
+    public int getOfferedMask() {
+        int mask = CardSet.EMPTY;
+        if (faceUpCard != null) mask |= CardSet.bit(faceUpCard);
+        if (faceDownCard != null) mask |= CardSet.bit(faceDownCard);
+        return mask;
+    }
+
     @Override
     public String toString() {
         return faceUpCard + " and one hidden card";
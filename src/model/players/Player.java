@@ -2,12 +2,14 @@ package model.players;
 
 import view.console.PlayerView;
 import model.cards.Card;
+import model.cards.CardSet;
 
 import java.util.ArrayList;
 
 public abstract class Player {
     protected String name;
     protected ArrayList<Card> hand;
+    protected int handMask;
     protected Jest jest;
     protected Offer offer;
     protected boolean isVirtual;
@@ -50,6 +52,11 @@ public abstract class Player {
         return hand;
     }
 
+    // CardSet of the cards in hand
+    public int getHandMask() {
+        return handMask;
+    }
+
     public Card getLastCard(){
 
         return this.jest.getCards().getLast();
@@ -62,12 +69,39 @@ public abstract class Player {
 
     public void addToHand(Card card){
         this.hand.add(card);
+        this.handMask |= CardSet.bit(card);
+    }
+
+    public void clearHand() {
+        this.hand.clear();
+        this.handMask = CardSet.EMPTY;
     }
 
     public void setOffer(Offer offer) {
         this.offer = offer;
     }
 
+    // turns the two cards in hand into this player's offer, the Offer object is reused every round
+    public Offer placeOffer(Card faceUpCard, Card faceDownCard) {
+        if (offer == null) {
+            offer = new Offer(this, faceUpCard, faceDownCard);
+        } else {
+            offer.reset(faceUpCard, faceDownCard);
+        }
+        clearHand();
+        return offer;
+    }
+
+    // back to the state of a newly added player, keeping the name and the reusable objects
+    public void reset() {
+        clearHand();
+        jest.reset();
+        if (offer != null) {
+            offer.reset(null, null);
+        }
+        score = 0;
+    }
+
     public void takeRemainingOfferCard(){
         Card faceUp = offer.getFaceUpCard();
         Card faceDown = offer.getFaceDownCard();
@@ -78,7 +112,7 @@ public abstract class Player {
         }
 
         if (faceDown != null) {
-            jest.addCard(faceDown);
+            jest.addCard(faceDown, true);
             offer.setFaceDownCard(null);
         }
     }
@@ -0,0 +1,109 @@
+package model.players;
+
+import model.cards.CardSet;
+
+import java.util.SplittableRandom;
+
+// Lowest and highest score a jest can still reach when it may gain any of some available cards.
+// The scoring rules split into three independent parts that add up to ScoreTable.score():
+//   hearts and the Joker (HJ), diamonds (D), clubs and spades (CS, with the black pairs).
+// Each part only looks at its own cards, so its extremes over every superset are tabulated once
+// per (part of the jest, part of the available cards) and a bound is three lookups. The bounds
+// ignore how many cards a jest can still take, so they are safe but not always reached.
+public final class ScoreBounds {
+    private static final int HEARTS = 0xF;
+    private static final int DIAMONDS_SHIFT = 4;
+    private static final int BLACK_SHIFT = 8;
+
+    // [jest part << bits | available part]
+    private static final short[] HJ_MIN = new short[1 << 10];
+    private static final short[] HJ_MAX = new short[1 << 10];
+    private static final short[] D_MIN = new short[1 << 8];
+    private static final short[] D_MAX = new short[1 << 8];
+    private static final short[] CS_MIN = new short[1 << 16];
+    private static final short[] CS_MAX = new short[1 << 16];
+
+    static {
+        fill(HJ_MIN, HJ_MAX, 5);
+        fill(D_MIN, D_MAX, 4);
+        fill(CS_MIN, CS_MAX, 8);
+    }
+
+    private ScoreBounds() {
+    }
+
+    public static int lower(int jest, int available) {
+        int gains = available & ~jest;
+        return HJ_MIN[hj(jest) << 5 | hj(gains)]
+                + D_MIN[diamonds(jest) << 4 | diamonds(gains)]
+                + CS_MIN[black(jest) << 8 | black(gains)];
+    }
+
+    public static int upper(int jest, int available) {
+        int gains = available & ~jest;
+        return HJ_MAX[hj(jest) << 5 | hj(gains)]
+                + D_MAX[diamonds(jest) << 4 | diamonds(gains)]
+                + CS_MAX[black(jest) << 8 | black(gains)];
+    }
+
+    private static int hj(int set) {
+        return set & HEARTS | (CardSet.hasJoker(set) ? 1 << 4 : 0);
+    }
+
+    private static int diamonds(int set) {
+        return set >>> DIAMONDS_SHIFT & 0xF;
+    }
+
+    private static int black(int set) {
+        return set >>> BLACK_SHIFT & 0xFF;
+    }
+
+    // a part of `bits` bits back to a CardSet mask
+    private static int expand(int part, int bits) {
+        return switch (bits) {
+            case 5 -> part & HEARTS | ((part & 1 << 4) != 0 ? CardSet.JOKER : 0);
+            case 4 -> part << DIAMONDS_SHIFT;
+            default -> part << BLACK_SHIFT;
+        };
+    }
+
+    private static void fill(short[] min, short[] max, int bits) {
+        int size = 1 << bits;
+        for (int jest = 0; jest < size; jest++) {
+            for (int available = 0; available < size; available++) {
+                int gains = available & ~jest;
+                int low = Integer.MAX_VALUE;
+                int high = Integer.MIN_VALUE;
+                // every subset of the gains, the empty one included
+                for (int subset = gains; ; subset = (subset - 1) & gains) {
+                    int score = ScoreTable.score(expand(jest | subset, bits));
+                    low = Math.min(low, score);
+                    high = Math.max(high, score);
+                    if (subset == 0) break;
+                }
+                min[jest << bits | available] = (short) low;
+                max[jest << bits | available] = (short) high;
+            }
+        }
+    }
+
+    // functions test: the parts add up to the score, and random supersets stay within the bounds
+    public static void main(String[] args) {
+        int mismatches = 0;
+        for (int mask = 0; mask <= CardSet.FULL; mask++) {
+            int parts = ScoreTable.score(expand(hj(mask), 5)) + ScoreTable.score(expand(diamonds(mask), 4))
+                    + ScoreTable.score(expand(black(mask), 8));
+            if (parts != ScoreTable.score(mask)) mismatches++;
+        }
+        SplittableRandom random = new SplittableRandom(1);
+        int outside = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            int jest = random.nextInt(CardSet.FULL + 1) & random.nextInt(CardSet.FULL + 1);
+            int available = random.nextInt(CardSet.FULL + 1);
+            int reached = jest | available & random.nextInt(CardSet.FULL + 1);
+            int score = ScoreTable.score(reached);
+            if (score < lower(jest, available) || score > upper(jest, available)) outside++;
+        }
+        System.out.println("Decomposition mismatches: " + mismatches + ", scores outside their bounds: " + outside);
+    }
+}
@@ -0,0 +1,95 @@
+package model.players;
+
+import model.cards.CardSet;
+import model.cards.Cards;
+import model.cards.Suit;
+
+// Score of every possible jest, indexed by its CardSet mask (2^17 entries, 256 KB).
+// Built once at class init with the same rules as ScoreVisitorImpl, which stays the reference.
+public final class ScoreTable {
+    private static final int HEARTS = Suit.HEARTS.ordinal();
+    private static final int DIAMONDS = Suit.DIAMONDS.ordinal();
+    private static final int CLUBS = Suit.CLUBS.ordinal();
+    private static final int SPADES = Suit.SPADES.ordinal();
+
+    private static final short[] SCORES = buildTable();
+
+    private ScoreTable() {
+    }
+
+    public static int score(int jestMask) {
+        return SCORES[jestMask];
+    }
+
+    public static int score(Jest jest) {
+        return SCORES[jest.getMask()];
+    }
+
+    private static short[] buildTable() {
+        short[] scores = new short[1 << CardSet.CARD_COUNT];
+        for (int mask = 0; mask < scores.length; mask++) {
+            scores[mask] = (short) computeScore(mask);
+        }
+        return scores;
+    }
+
+    // sum of face values of a 4-bit face mask (ACE = 1 ... FOUR = 4)
+    private static int faceSum(int faces) {
+        int sum = 0;
+        for (int face = 0; face < 4; face++) {
+            if ((faces & (1 << face)) != 0) sum += face + 1;
+        }
+        return sum;
+    }
+
+    private static int computeScore(int mask) {
+        boolean hasJoker = CardSet.hasJoker(mask);
+        int hearts = CardSet.suitFaces(mask, HEARTS);
+
+        // face values, diamonds decrease points
+        int score = faceSum(hearts)
+                + faceSum(CardSet.suitFaces(mask, CLUBS))
+                + faceSum(CardSet.suitFaces(mask, SPADES))
+                - faceSum(CardSet.suitFaces(mask, DIAMONDS));
+
+        // a solo Ace in its suit is worth 5, hearts only count with the Joker
+        for (int suit = 0; suit < 4; suit++) {
+            if (suit == HEARTS && !hasJoker) continue;
+            if (CardSet.suitFaces(mask, suit) == 1) score += 4;
+        }
+
+        // Spade + Club with the same face = +2
+        score += 2 * Integer.bitCount(CardSet.suitFaces(mask, CLUBS) & CardSet.suitFaces(mask, SPADES));
+
+        int heartCount = Integer.bitCount(hearts);
+        if (hasJoker) {
+            if (heartCount == 0) score += 4;
+            else if (heartCount <= 3) score -= faceSum(hearts);
+            else score += faceSum(hearts);
+        } else {
+            score -= faceSum(hearts);
+        }
+        return score;
+    }
+
+    // functions test: compare every entry with ScoreVisitorImpl. The repository has no unit tests,
+    // so this is the only check of the table; run it after a change to the scoring rules with
+    //   javac -d out $(find src -name '*.java') && java -cp out model.players.ScoreTable
+    // and expect "Checked 131072 jests, 0 mismatches."
+    public static void main(String[] args) {
+        ScoreVisitorImpl visitor = new ScoreVisitorImpl();
+        int mismatches = 0;
+        for (int mask = 0; mask <= CardSet.FULL; mask++) {
+            Jest jest = new Jest();
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                jest.addCard(Cards.get(CardSet.first(rest)));
+            }
+            visitor.countJestScore(jest);
+            if (visitor.getTotalScore() != score(mask)) {
+                mismatches++;
+                System.out.println("Mismatch for " + jest + ": " + visitor.getTotalScore() + " != " + score(mask));
+            }
+        }
+        System.out.println("Checked " + (CardSet.FULL + 1) + " jests, " + mismatches + " mismatches.");
+    }
+}
@@ -1,27 +1,74 @@
 package model.players;
 
+import model.game.Game;
 import model.players.strategies.*;
 
 import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 public class VirtualPlayer extends Player {
 
     private PlayStrategy strategy;
+    private SplittableRandom random;
+    private Game game;
+    private int seat;
 
     public VirtualPlayer(String name, StrategyType type) {
+        this(name, type, new SplittableRandom());
+    }
+
+    // random is this seat's own stream of the game, see GameRandom
+    public VirtualPlayer(String name, StrategyType type, SplittableRandom random) {
         super(name, true);
+        this.random = random;
         setStrategy(type);
     }
 
     public void setStrategy(StrategyType type) {
         switch (type) {
-            case RANDOM -> strategy = new RandomStrategy();
+            case RANDOM -> strategy = new RandomStrategy(random);
             case AGGRESSIVE -> strategy = new AggressiveStrategy();
             case CAUTIOUS -> strategy = new CautiousStrategy();
-            default -> strategy = new RandomStrategy();
+            case ISMCTS -> strategy = new IsmctsStrategy(random);
+            case ISMCTS_PARALLEL -> strategy = IsmctsStrategy.parallel(random);
+            case CFR -> strategy = new CfrStrategy(random);
+            case TABLE -> strategy = new TableStrategy();
+            case ENDGAME -> strategy = new EndgameStrategy(new AggressiveStrategy());
+            case EXPECTIMAX -> strategy = new ExpectimaxStrategy(new AggressiveStrategy());
+            case GREEDY -> strategy = new GreedyStrategy();
+            default -> strategy = new RandomStrategy(random);
+        }
+        if (game != null) {
+            strategy.takeSeat(game, seat);
+        }
+    }
+
+    // a strategy built by hand, e.g. a GreedyStrategy with its own parameters
+    public void setStrategy(PlayStrategy strategy) {
+        this.strategy = strategy;
+        if (game != null) {
+            strategy.takeSeat(game, seat);
         }
     }
 
+    // the game and seat this player plays at, strategies that search read the table through it
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        strategy.takeSeat(game, seat);
+    }
+
+    public PlayStrategy getStrategy() {
+        return strategy;
+    }
+
+    // new game for the same seat: the strategy is kept and continues on the seat's new stream
+    public void reset(SplittableRandom random) {
+        reset();
+        this.random = random;
+        strategy.reset(random);
+    }
+
     @Override
     public Offer makeOffer(int faceUpIndex, int faceDownIndex) {
         throw new UnsupportedOperationException("Controller must call makeOffer().");
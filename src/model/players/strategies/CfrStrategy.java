@@ -0,0 +1,124 @@
+package model.players.strategies;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.Offer;
+import model.players.Player;
+import model.search.CfrInfoSet;
+import model.search.CfrPolicy;
+import model.search.GameSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Plays the mixed policy learned by model.search.CfrTrainer with table lookups only.
+// The policy file is jest.cfr.policy (system property), cfr.policy by default; it is loaded once
+// and shared. Information sets the training never reached are played like AGGRESSIVE, and so is
+// everything when the property is not set and the default file does not exist; the launchers
+// warn about that.
+// CfrInfoSet.key() reads the seat's own cards and the face-up cards only, so the hidden cards the
+// capture holds (other hands, face-down cards, jest cards taken face down) never reach the policy.
+public class CfrStrategy implements PlayStrategy {
+    public static final String POLICY_PROPERTY = "jest.cfr.policy";
+    private static CfrPolicy sharedPolicy;
+    private static boolean policyLoaded;
+
+    private final CfrPolicy policy;
+    private final PlayStrategy fallback = new AggressiveStrategy();
+    private final GameSnapshot state = new GameSnapshot();
+    private final GameAction[] legal = new GameAction[GameAction.COUNT];
+    private SplittableRandom random;
+    private Game game;
+    private int seat;
+    private GameAction pendingChoice;
+
+    public CfrStrategy(SplittableRandom random) {
+        this(random, defaultPolicy());
+    }
+
+    // policy may be null: the player then plays like AGGRESSIVE
+    public CfrStrategy(SplittableRandom random, CfrPolicy policy) {
+        this.random = random;
+        this.policy = policy;
+    }
+
+    // the file named by the jest.cfr.policy property, else cfr.policy in the working directory
+    public static Path defaultPolicyPath() {
+        String property = System.getProperty(POLICY_PROPERTY);
+        return Path.of(property != null ? property : "cfr.policy");
+    }
+
+    // null when the property is not set and the default file does not exist; the launchers warn
+    public static synchronized CfrPolicy defaultPolicy() {
+        if (!policyLoaded) {
+            Path path = defaultPolicyPath();
+            if (System.getProperty(POLICY_PROPERTY) != null || Files.exists(path)) {
+                try {
+                    sharedPolicy = CfrPolicy.load(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read the CFR policy " + path.toAbsolutePath(), e);
+                }
+            }
+            policyLoaded = true;
+        }
+        return sharedPolicy;
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+    }
+
+    @Override
+    public void reset(SplittableRandom random) {
+        this.random = random;
+        this.pendingChoice = null;
+    }
+
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        GameAction action = lookUp(GamePhase.OFFER);
+        return action != null ? action.getFaceUpIndex() : fallback.chooseFaceUpIndex(player);
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        pendingChoice = lookUp(GamePhase.CHOOSE);
+        if (pendingChoice == null) {
+            return fallback.chooseOffer(availableOffers, player);
+        }
+        return game.getRound().getOffer(pendingChoice.getOfferSeat());
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        GameAction choice = pendingChoice;
+        pendingChoice = null;
+        if (choice == null || game.getRound().getOffer(choice.getOfferSeat()) != offer) {
+            return fallback.chooseFaceUp(offer, player);
+        }
+        return choice.isFaceUp();
+    }
+
+    // action drawn from the policy, null if the policy does not know this information set
+    private GameAction lookUp(GamePhase phase) {
+        if (game == null) {
+            throw new IllegalStateException("CFR needs the game it plays, see VirtualPlayer.takeSeat().");
+        }
+        if (policy == null) return null;
+        state.capture(game, phase, seat);
+        int count = state.getLegalActions(legal);
+        int legalSlots = 0;
+        for (int i = 0; i < count; i++) {
+            legalSlots |= 1 << CfrInfoSet.slot(state, legal[i]);
+        }
+        int slot = policy.sample(CfrInfoSet.key(state, seat), legalSlots, random);
+        return slot < 0 ? null : CfrInfoSet.action(state, slot);
+    }
+}
@@ -0,0 +1,127 @@
+package model.players.strategies;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.Offer;
+import model.players.Player;
+import model.search.EndgameSolver;
+import model.search.EndgameTablebase;
+import model.search.GameSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Plays the final round with EndgameSolver: every legal action is valued by its share of the win,
+// averaged over the placements of the cards the seat cannot see, and the best one is played.
+// Earlier rounds are left to the base strategy. Solved positions come from the tablebase in
+// jest.endgame (system property), endgame.tablebase by default, when that file exists; the
+// solver works out the rest on the fly.
+public class EndgameStrategy implements PlayStrategy {
+    public static final String TABLEBASE_PROPERTY = "jest.endgame";
+    private static final int MAX_MEMO = 1 << 20;
+    private static EndgameTablebase sharedTablebase;
+    private static boolean tablebaseLoaded;
+
+    private final PlayStrategy base;
+    private final EndgameSolver solver;
+    private final GameSnapshot state = new GameSnapshot();
+    private final GameAction[] legal = new GameAction[GameAction.COUNT];
+    private final double[] values = new double[GameAction.COUNT];
+    private Game game;
+    private int seat;
+    private GameAction pendingChoice;
+    private boolean baseChoosing;
+
+    public EndgameStrategy(PlayStrategy base) {
+        this(base, defaultTablebase());
+    }
+
+    // tablebase may be null: everything is solved on the fly
+    public EndgameStrategy(PlayStrategy base, EndgameTablebase tablebase) {
+        this.base = base;
+        this.solver = new EndgameSolver(tablebase);
+    }
+
+    // null when the property is not set and the default file does not exist
+    public static synchronized EndgameTablebase defaultTablebase() {
+        if (!tablebaseLoaded) {
+            String property = System.getProperty(TABLEBASE_PROPERTY);
+            Path path = Path.of(property != null ? property : "endgame.tablebase");
+            if (property != null || Files.exists(path)) {
+                try {
+                    sharedTablebase = EndgameTablebase.open(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read the endgame tablebase " + path.toAbsolutePath(), e);
+                }
+            }
+            tablebaseLoaded = true;
+        }
+        return sharedTablebase;
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        base.takeSeat(game, seat);
+    }
+
+    @Override
+    public void reset(SplittableRandom random) {
+        pendingChoice = null;
+        baseChoosing = false;
+        base.reset(random);
+    }
+
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        GameAction action = solve(GamePhase.OFFER);
+        return action != null ? action.getFaceUpIndex() : base.chooseFaceUpIndex(player);
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        pendingChoice = solve(GamePhase.CHOOSE);
+        baseChoosing = pendingChoice == null;
+        if (baseChoosing) {
+            return base.chooseOffer(availableOffers, player);
+        }
+        return game.getRound().getOffer(pendingChoice.getOfferSeat());
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        GameAction choice = pendingChoice;
+        pendingChoice = null;
+        if (baseChoosing || choice == null || game.getRound().getOffer(choice.getOfferSeat()) != offer) {
+            baseChoosing = false;
+            return base.chooseFaceUp(offer, player);
+        }
+        return choice.isFaceUp();
+    }
+
+    // the best action of the final round, null before it
+    private GameAction solve(GamePhase phase) {
+        if (game == null) {
+            throw new IllegalStateException("The endgame solver needs its game, see VirtualPlayer.takeSeat().");
+        }
+        if (!game.getDeck().isEmpty()) return null;
+        state.capture(game, phase, seat);
+        if (!state.isFinalRound()) return null;
+        if (solver.size() > MAX_MEMO) {
+            solver.clear();
+        }
+        int count = state.getLegalActions(legal);
+        solver.actionValues(state, legal, count, values);
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (values[i] > values[best]) best = i;
+        }
+        return legal[best];
+    }
+}
@@ -0,0 +1,95 @@
+package model.players.strategies;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.Offer;
+import model.players.Player;
+import model.search.ExpectimaxSolver;
+import model.search.GameSnapshot;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Plays the action with the best exact expected share of the win (ExpectimaxSolver) whenever the
+// solver finishes within its node budget; the base strategy plays every other decision. Searches
+// with more than one deal left in the deck are not even tried: they blow any sensible budget.
+public class ExpectimaxStrategy implements PlayStrategy {
+    public static final long DEFAULT_NODE_BUDGET = 100_000;
+
+    private final PlayStrategy base;
+    private final ExpectimaxSolver solver;
+    private final GameSnapshot state = new GameSnapshot();
+    private final GameAction[] legal = new GameAction[GameAction.COUNT];
+    private final double[] values = new double[GameAction.COUNT];
+    private Game game;
+    private int seat;
+    private GameAction pendingChoice;
+    private boolean baseChoosing;
+
+    public ExpectimaxStrategy(PlayStrategy base) {
+        this(base, DEFAULT_NODE_BUDGET);
+    }
+
+    public ExpectimaxStrategy(PlayStrategy base, long nodeBudget) {
+        this.base = base;
+        this.solver = new ExpectimaxSolver(nodeBudget);
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        base.takeSeat(game, seat);
+    }
+
+    @Override
+    public void reset(SplittableRandom random) {
+        pendingChoice = null;
+        baseChoosing = false;
+        base.reset(random);
+    }
+
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        GameAction action = solve(GamePhase.OFFER);
+        return action != null ? action.getFaceUpIndex() : base.chooseFaceUpIndex(player);
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        pendingChoice = solve(GamePhase.CHOOSE);
+        baseChoosing = pendingChoice == null;
+        if (baseChoosing) {
+            return base.chooseOffer(availableOffers, player);
+        }
+        return game.getRound().getOffer(pendingChoice.getOfferSeat());
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        GameAction choice = pendingChoice;
+        pendingChoice = null;
+        if (baseChoosing || choice == null || game.getRound().getOffer(choice.getOfferSeat()) != offer) {
+            baseChoosing = false;
+            return base.chooseFaceUp(offer, player);
+        }
+        return choice.isFaceUp();
+    }
+
+    // the best action, null if the solver ran out of nodes
+    private GameAction solve(GamePhase phase) {
+        if (game == null) {
+            throw new IllegalStateException("Expectimax needs the game it plays, see VirtualPlayer.takeSeat().");
+        }
+        state.capture(game, phase, seat);
+        if (state.getDeckSize() > state.getSeatCount()) return null;
+        int count = state.getLegalActions(legal);
+        if (!solver.evaluate(state, legal, count, values)) return null;
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (values[i] > values[best]) best = i;
+        }
+        return legal[best];
+    }
+}
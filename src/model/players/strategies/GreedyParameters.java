@@ -0,0 +1,127 @@
+package model.players.strategies;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Weights of GreedyStrategy, immutable. The value of taking a card is
+//   score * (change of the own jest score)
+//   - diamonds * (face value of a diamond)       aversion on top of what the score already takes
+//   + heartsJoker                                 a heart while the Joker is still in play
+//   + blackPair                                   a black card whose pair can still be completed
+//   + trophies * (change in trophies won)
+// and offering adds - denial * (what the face-up card is worth to the other seats).
+// The vector order is NAMES, the form tuners work on. Named sets are properties files
+// <name>.params (one line per weight) in the directory jest.params.dir, params by default.
+public final class GreedyParameters {
+    public static final String DIRECTORY_PROPERTY = "jest.params.dir";
+    public static final String[] NAMES = {"score", "diamonds", "heartsJoker", "blackPair", "trophies", "denial"};
+    public static final GreedyParameters DEFAULT = new GreedyParameters(1.0, 0.5, 0.0, 0.5, 1.0, 0.5);
+
+    private final double[] values;
+
+    public GreedyParameters(double... values) {
+        if (values.length != NAMES.length) {
+            throw new IllegalArgumentException("Greedy parameters are " + Arrays.toString(NAMES) + ", got "
+                    + values.length + " values");
+        }
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("Greedy parameters must be finite: " + Arrays.toString(values));
+            }
+        }
+        this.values = values.clone();
+    }
+
+    public double getScoreWeight() {
+        return values[0];
+    }
+
+    public double getDiamondAversion() {
+        return values[1];
+    }
+
+    public double getHeartsJokerAffinity() {
+        return values[2];
+    }
+
+    public double getBlackPairValue() {
+        return values[3];
+    }
+
+    public double getTrophyWeight() {
+        return values[4];
+    }
+
+    public double getDenialWeight() {
+        return values[5];
+    }
+
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    public static Path pathOf(String name) {
+        return Path.of(System.getProperty(DIRECTORY_PROPERTY, "params"), name + ".params");
+    }
+
+    // the set saved under the name, e.g. by app.ParameterTunerLauncher
+    public static GreedyParameters named(String name) {
+        Path path = pathOf(name);
+        try {
+            return load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No greedy parameters named " + name + " at " + path.toAbsolutePath(), e);
+        }
+    }
+
+    public static GreedyParameters load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        double[] values = new double[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) {
+            String value = properties.getProperty(NAMES[i]);
+            if (value == null) {
+                throw new IOException("No " + NAMES[i] + " in " + path);
+            }
+            try {
+                values[i] = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad " + NAMES[i] + " in " + path + ": " + value, e);
+            }
+        }
+        return new GreedyParameters(values);
+    }
+
+    public void save(String name) throws IOException {
+        Path path = pathOf(name);
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        save(path);
+    }
+
+    public void save(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write("# Jest greedy parameters\n");
+            for (int i = 0; i < NAMES.length; i++) {
+                writer.write(NAMES[i] + "=" + values[i] + "\n");
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (i > 0) text.append(' ');
+            text.append(NAMES[i]).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,281 @@
+package model.players.strategies;
+
+import model.cards.Card;
+import model.cards.CardSet;
+import model.cards.TrophyRule;
+import model.game.BeliefTracker;
+import model.game.Game;
+import model.game.GameListener;
+import model.game.TrophyIndex;
+import model.players.Offer;
+import model.players.Player;
+import model.players.ScoreTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// One-ply greedy play on the real scoring rules: every candidate card is valued by what it changes,
+// the exact jest score from ScoreTable and the trophies won from a TrophyIndex, plus the shaping
+// terms of GreedyParameters. A face-down card of another seat is valued as the average over the
+// cards it can be: the unseen cards, or what the seat's BeliefTracker knows in a game driven by a
+// GameStateMachine. The other jests hold the cards this seat knows are there: the tracker's known
+// jest cards, or only the cards taken face up without a tracker. A decision costs a few
+// microseconds and allocates nothing. StrategyType.GREEDY plays the parameters named by the
+// system property jest.greedy (see GreedyParameters.named()), GreedyParameters.DEFAULT without it.
+public class GreedyStrategy implements PlayStrategy, GameListener {
+    public static final String PARAMETERS_PROPERTY = "jest.greedy";
+    private static GreedyParameters sharedParameters;
+
+    private static final int HEARTS = 0;
+    private static final int DIAMONDS = 1;
+
+    private final GreedyParameters parameters;
+    private final TrophyIndex trophyIndex = new TrophyIndex();
+    private final int[] jests = new int[Game.MAX_SEATS];
+    private Game game;
+    private int seat;
+    private int seatCount;
+    // cards in view (trophies, face-up cards, the jest cards this seat knows), and its own cards
+    private int publicMask;
+    private int knownMask;
+    private int trophiesWon;
+    private BeliefTracker tracker;
+    private boolean tracking;
+    // choice of the last chooseOffer(), picked up by the chooseFaceUp() that follows it
+    private Offer pendingOffer;
+    private boolean pendingFaceUp;
+
+    public GreedyStrategy() {
+        this(defaultParameters());
+    }
+
+    public GreedyStrategy(GreedyParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    public static synchronized GreedyParameters defaultParameters() {
+        if (sharedParameters == null) {
+            String name = System.getProperty(PARAMETERS_PROPERTY);
+            sharedParameters = name == null ? GreedyParameters.DEFAULT : GreedyParameters.named(name);
+        }
+        return sharedParameters;
+    }
+
+    public GreedyParameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        this.tracker = new BeliefTracker(seat);
+        this.tracking = false;
+    }
+
+    @Override
+    public void reset(SplittableRandom random) {
+        this.pendingOffer = null;
+        this.tracking = false;
+    }
+
+    @Override
+    public void gameStarted(Game game) {
+        if (tracker == null) return;
+        tracker.gameStarted(game);
+        tracking = true;
+    }
+
+    @Override
+    public void roundStarted(Game game) {
+        if (tracking) tracker.roundStarted(game);
+    }
+
+    @Override
+    public void offerMade(int seat, int faceUpCard, int faceDownCard) {
+        if (tracking) tracker.offerMade(seat, faceUpCard, faceDownCard);
+    }
+
+    @Override
+    public void cardTaken(int seat, int offerSeat, int card, boolean faceUp) {
+        if (tracking) tracker.cardTaken(seat, offerSeat, card, faceUp);
+    }
+
+    @Override
+    public void roundEnded(Game game) {
+        if (tracking) tracker.roundEnded(game);
+    }
+
+    // The card shown is taken by the next seats when it is worth more to them than a blind card,
+    // and the other one stays. What stays goes back to the deck, except when the seat has to take
+    // from its own offer (about one time in seatCount) or in the last round.
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        refresh();
+        ArrayList<Card> hand = player.getHand();
+        int first = hand.get(0).getIndex();
+        int second = hand.get(1).getIndex();
+        double blind = expectedOpponentGain(unknownMask());
+        double keepShare = game.getDeck().isEmpty() ? 1 : 1.0 / seatCount;
+        double showFirst = offerValue(first, second, blind, keepShare);
+        double showSecond = offerValue(second, first, blind, keepShare);
+        return showFirst >= showSecond ? 0 : 1;
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        refresh();
+        Offer best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        boolean onlyOwn = true;
+        for (Offer offer : availableOffers) {
+            if (offer != null && offer.isComplete() && offer.getOwner() != player) onlyOwn = false;
+        }
+        for (Offer offer : availableOffers) {
+            if (offer == null || !offer.isComplete() || (offer.getOwner() == player) != onlyOwn) continue;
+            double up = value(offer.getFaceUpCard().getIndex());
+            double down = faceDownValue(offer);
+            if (up > bestValue) {
+                best = offer;
+                bestValue = up;
+                pendingFaceUp = true;
+            }
+            if (down > bestValue) {
+                best = offer;
+                bestValue = down;
+                pendingFaceUp = false;
+            }
+        }
+        pendingOffer = best;
+        return best;
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        if (offer == pendingOffer) {
+            pendingOffer = null;
+            return pendingFaceUp;
+        }
+        // the offer was not picked by this strategy: compare both cards of it
+        refresh();
+        pendingOffer = null;
+        return value(offer.getFaceUpCard().getIndex()) >= faceDownValue(offer);
+    }
+
+    private double offerValue(int up, int down, double blind, double keepShare) {
+        double upGain = opponentGain(up);
+        boolean upTaken = upGain >= blind;
+        double kept = value(upTaken ? down : up);
+        return keepShare * kept - parameters.getDenialWeight() * (upTaken ? upGain : opponentGain(down));
+    }
+
+    private double faceDownValue(Offer offer) {
+        int owner = game.getPlayers().indexOf(offer.getOwner());
+        if (owner == seat) return value(offer.getFaceDownCard().getIndex());
+        int possible = unknownMask();
+        if (tracking) {
+            int believed = tracker.getPossibleFaceDown(owner) & ~publicMask;
+            if (believed != CardSet.EMPTY) possible = believed;
+        }
+        return expectedValue(possible);
+    }
+
+    // value to this seat of adding the card to its jest
+    private double value(int card) {
+        int jest = jests[seat];
+        int with = jest | 1 << card;
+        double value = parameters.getScoreWeight() * (ScoreTable.score(with) - ScoreTable.score(jest));
+        if (CardSet.isJoker(card)) return value + trophyChange(with);
+        int suit = CardSet.suitOrdinal(card);
+        int face = CardSet.faceOrdinal(card);
+        if (suit == DIAMONDS) {
+            value -= parameters.getDiamondAversion() * (face + 1);
+        } else if (suit == HEARTS) {
+            if ((publicMask & CardSet.JOKER) == 0) value += parameters.getHeartsJokerAffinity();
+        } else {
+            // clubs 2 and spades 3: the pair of a black card is the same face in the other suit
+            int pair = (5 - suit) * 4 + face;
+            if ((publicMask & 1 << pair) == 0) value += parameters.getBlackPairValue();
+        }
+        return value + trophyChange(with);
+    }
+
+    private double trophyChange(int jestWith) {
+        if (parameters.getTrophyWeight() == 0 || game.getTrophyRules().isEmpty()) return 0;
+        trophyIndex.update(seat, jestWith);
+        int won = countTrophiesWon();
+        trophyIndex.update(seat, jests[seat]);
+        return parameters.getTrophyWeight() * (won - trophiesWon);
+    }
+
+    private double expectedValue(int cards) {
+        if (cards == CardSet.EMPTY) return 0;
+        double total = 0;
+        for (int rest = cards; rest != 0; rest &= rest - 1) {
+            total += value(CardSet.first(rest));
+        }
+        return total / Integer.bitCount(cards);
+    }
+
+    // average score the card adds to the other seats' jests
+    private double opponentGain(int card) {
+        double total = 0;
+        for (int other = 0; other < seatCount; other++) {
+            if (other == seat) continue;
+            total += ScoreTable.score(jests[other] | 1 << card) - ScoreTable.score(jests[other]);
+        }
+        return total / (seatCount - 1);
+    }
+
+    private double expectedOpponentGain(int cards) {
+        if (cards == CardSet.EMPTY) return 0;
+        double total = 0;
+        for (int rest = cards; rest != 0; rest &= rest - 1) {
+            total += opponentGain(CardSet.first(rest));
+        }
+        return total / Integer.bitCount(cards);
+    }
+
+    // cards this seat cannot place: the deck, the other hands and face-down cards
+    private int unknownMask() {
+        return CardSet.FULL & ~(publicMask | knownMask);
+    }
+
+    private int countTrophiesWon() {
+        int won = 0;
+        for (TrophyRule rule : game.getTrophyRules()) {
+            if (trophyIndex.resolve(rule.getType(), rule.getSuit(), rule.getFace()) == seat) won++;
+        }
+        return won;
+    }
+
+    private void refresh() {
+        if (game == null) {
+            throw new IllegalStateException("The greedy player needs its game, see VirtualPlayer.takeSeat().");
+        }
+        ArrayList<Player> players = game.getPlayers();
+        seatCount = players.size();
+        publicMask = game.getTrophyMask();
+        for (int other = 0; other < seatCount; other++) {
+            Player player = players.get(other);
+            if (other == seat) {
+                jests[other] = player.getJest().getMask();
+            } else if (tracking) {
+                jests[other] = tracker.getKnownJest(other);
+            } else {
+                jests[other] = player.getJest().getMask() & ~player.getJest().getHiddenMask();
+            }
+            publicMask |= jests[other];
+            Offer offer = player.getOffer();
+            if (offer != null && offer.getFaceUpCard() != null) publicMask |= CardSet.bit(offer.getFaceUpCard());
+        }
+        Player self = players.get(seat);
+        knownMask = self.getHandMask();
+        if (self.getOffer() != null && self.getOffer().getFaceDownCard() != null) {
+            knownMask |= CardSet.bit(self.getOffer().getFaceDownCard());
+        }
+        trophyIndex.build(jests, seatCount);
+        trophiesWon = countTrophiesWon();
+    }
+}
@@ -0,0 +1,139 @@
+package model.players.strategies;
+
+import model.game.BeliefTracker;
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GameListener;
+import model.game.GamePhase;
+import model.players.Offer;
+import model.players.Player;
+import model.search.ActionSearch;
+import model.search.GameSnapshot;
+import model.search.IsmctsSearch;
+import model.search.ParallelIsmctsSearch;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Searches every decision with information set MCTS, see IsmctsSearch and ParallelIsmctsSearch.
+// The default budgets are iterations only, so seeded games stay reproducible.
+// In a game driven by a GameStateMachine the strategy keeps a BeliefTracker of its seat, and the
+// samples of the search keep what the seat knows: the leftovers it saw go back to the deck and to
+// the hands they are dealt to, instead of being shuffled with the unseen cards.
+public class IsmctsStrategy implements PlayStrategy, GameListener {
+    public static final int DEFAULT_ITERATIONS = 1000;
+
+    private SplittableRandom random;
+    private final ActionSearch search;
+    private final GameSnapshot root;
+    private Game game;
+    private int seat;
+    private BeliefTracker tracker;
+    // the tracker heard this game from its start
+    private boolean tracking;
+    // choice of the last chooseOffer(), picked up by the chooseFaceUp() that follows it
+    private GameAction pendingChoice;
+
+    public IsmctsStrategy(SplittableRandom random) {
+        this(random, DEFAULT_ITERATIONS, 0);
+    }
+
+    // iterations <= 0 or timeBudgetMillis <= 0 disables that limit
+    public IsmctsStrategy(SplittableRandom random, int iterations, long timeBudgetMillis) {
+        this(random, new IsmctsSearch(iterations, timeBudgetMillis * 1_000_000L));
+    }
+
+    public IsmctsStrategy(SplittableRandom random, ActionSearch search) {
+        this.random = random;
+        this.search = search;
+        this.root = new GameSnapshot();
+    }
+
+    // root-parallel search on every core, DEFAULT_ITERATIONS per thread
+    public static IsmctsStrategy parallel(SplittableRandom random) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return new IsmctsStrategy(random, new ParallelIsmctsSearch(
+                ParallelIsmctsSearch.Mode.ROOT, threads, DEFAULT_ITERATIONS * threads, 0));
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+        this.tracker = new BeliefTracker(seat);
+        this.tracking = false;
+    }
+
+    @Override
+    public void reset(SplittableRandom random) {
+        this.random = random;
+        this.pendingChoice = null;
+        this.tracking = false;
+    }
+
+    @Override
+    public void gameStarted(Game game) {
+        if (tracker == null) return;
+        tracker.gameStarted(game);
+        tracking = true;
+    }
+
+    @Override
+    public void roundStarted(Game game) {
+        if (tracking) tracker.roundStarted(game);
+    }
+
+    @Override
+    public void offerMade(int seat, int faceUpCard, int faceDownCard) {
+        if (tracking) tracker.offerMade(seat, faceUpCard, faceDownCard);
+    }
+
+    @Override
+    public void cardTaken(int seat, int offerSeat, int card, boolean faceUp) {
+        if (tracking) tracker.cardTaken(seat, offerSeat, card, faceUp);
+    }
+
+    @Override
+    public void roundEnded(Game game) {
+        if (tracking) tracker.roundEnded(game);
+    }
+
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        return search(GamePhase.OFFER).getFaceUpIndex();
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        pendingChoice = search(GamePhase.CHOOSE);
+        return game.getRound().getOffer(pendingChoice.getOfferSeat());
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        int offerSeat = game.getPlayers().indexOf(offer.getOwner());
+        if (pendingChoice == null || pendingChoice.getOfferSeat() != offerSeat) {
+            // the offer was not picked by this strategy: compare both cards of it
+            search(GamePhase.CHOOSE);
+            pendingChoice = null;
+            return search.getRootVisits(GameAction.choose(offerSeat, true))
+                    >= search.getRootVisits(GameAction.choose(offerSeat, false));
+        }
+        boolean faceUp = pendingChoice.isFaceUp();
+        pendingChoice = null;
+        return faceUp;
+    }
+
+    private GameAction search(GamePhase phase) {
+        if (game == null) {
+            throw new IllegalStateException("ISMCTS needs the game it plays, see VirtualPlayer.takeSeat().");
+        }
+        root.capture(game, phase, seat);
+        if (tracking) {
+            search.getSampler().constrain(tracker, root.getSeatCount());
+        } else {
+            search.getSampler().clearConstraints();
+        }
+        return search.search(root, random);
+    }
+}
@@ -1,12 +1,55 @@
 package model.players.strategies;
 
+import model.cards.Card;
+import model.game.Game;
 import model.players.Offer;
 import model.players.Player;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
 
+// A strategy only decides, it never touches offers or jests: the decisions are applied by
+// makeOffer/chooseCard below (console controllers) or by model.game.GameStateMachine.
 public interface PlayStrategy {
-    public abstract Offer makeOffer(Player player);
-    public abstract Offer chooseCard(ArrayList<Offer> availableOffers, Player player);
+    // index in the player's hand of the card to put face up, the other card goes face down
+    public abstract int chooseFaceUpIndex(Player player);
+
+    // offer to take a card from, among the complete offers of availableOffers; null if there is none
+    public abstract Offer chooseOffer(List<Offer> availableOffers, Player player);
+
+    // true to take the face-up card of the chosen offer, false for the face-down one
+    public abstract boolean chooseFaceUp(Offer offer, Player player);
+
+    default Offer makeOffer(Player player) {
+        if (player.getHand().size() < 2) {
+            player.view.hasNoEnoughCards(player.getName());
+            return null;
+        }
+        int faceUpIndex = chooseFaceUpIndex(player);
+        return player.placeOffer(player.getHand().get(faceUpIndex), player.getHand().get(1 - faceUpIndex));
+    }
+
+    default Offer chooseCard(ArrayList<Offer> availableOffers, Player player) {
+        Offer chosenOffer = chooseOffer(availableOffers, player);
+        if (chosenOffer == null) {
+            return null;
+        }
+        boolean faceUp = chooseFaceUp(chosenOffer, player);
+        Card takenCard = chosenOffer.takeCard(faceUp);
+        if (takenCard == null) {
+            return null;
+        }
+        player.getJest().addCard(takenCard, !faceUp);
+        return chosenOffer;
+    }
+
+    // called once the player sits at a game, before its first decision
+    default void takeSeat(Game game, int seat) {
+    }
+
+    // called when the seat starts a new game with a new random stream
+    default void reset(SplittableRandom random) {
+    }
 
 }
@@ -1,99 +1,71 @@
 package model.players.strategies;
 
-import model.cards.Card;
 import model.players.Offer;
 import model.players.Player;
 
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 
 public class RandomStrategy implements PlayStrategy {
-    private final Random random = new Random();
+    private SplittableRandom random;
 
-    @Override
-    public Offer makeOffer(Player player) {
-        if (player.getHand().size() < 2) {
-            player.view.hasNoEnoughCards(player.getName());
-            return null;
-        }
+    public RandomStrategy() {
+        this(new SplittableRandom());
+    }
 
-        int faceUpIndex = random.nextInt(2);
-        int faceDownIndex = 1 - faceUpIndex;
+    public RandomStrategy(SplittableRandom random) {
+        this.random = random;
+    }
 
-        Card faceUpCard = player.getHand().get(faceUpIndex);
-        Card faceDownCard = player.getHand().get(faceDownIndex);
+    @Override
+    public void reset(SplittableRandom random) {
+        this.random = random;
+    }
 
-        Offer playerOffer = new Offer(player,  faceUpCard, faceDownCard);
-        player.setOffer(playerOffer);
-        player.getHand().clear();
-        return playerOffer;
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        return random.nextInt(2);
     }
 
     @Override
-    public Offer chooseCard(ArrayList<Offer> availableOffers, Player player) {
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
 
-        // Collect only complete offers
-        ArrayList<Offer> completeOffers = new ArrayList<>();
+        // Count complete offers, own offer excluded unless this is the last player
+        int completeCount = 0;
+        int selectableCount = 0;
         for (Offer offer : availableOffers) {
             if (offer != null && offer.isComplete()) {
-                completeOffers.add(offer);
+                completeCount++;
+                if (offer.getOwner() != player) selectableCount++;
             }
         }
 
-        if (completeOffers.isEmpty()) {
+        if (completeCount == 0) {
             return null; // no offers available
         }
 
-        // Remove own offer unless this is the last player
-        ArrayList<Offer> selectableOffers = new ArrayList<>();
-        for (Offer o : completeOffers) {
-            if (o.getOwner() != player) {
-                selectableOffers.add(o);
-            }
-        }
+        // If all other offers are gone → player must pick from own offer (the only candidate)
+        boolean ownOfferOnly = selectableCount == 0;
 
-        // If all remaining offers were removed → player must pick from own offer
-        if (selectableOffers.isEmpty()) {
-            for (Offer o : completeOffers) {
-                if (o.getOwner() == player) {
-                    selectableOffers.add(o);
-                    break;
-                }
+        //  Randomly select one of the selectable offers
+        int pick = random.nextInt(ownOfferOnly ? 1 : selectableCount);
+        for (Offer offer : availableOffers) {
+            if (offer != null && offer.isComplete() && (offer.getOwner() == player) == ownOfferOnly && pick-- == 0) {
+                return offer;
             }
         }
+        return null;
+    }
 
-        // If still empty → nothing to take
-        if (selectableOffers.isEmpty()) {
-            return null;
-        }
-
-        //  Randomly select one of the offers
-        Offer chosenOffer = selectableOffers.get(random.nextInt(selectableOffers.size()));
-
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
         //  Randomly decide: take face-up (true) or face-down (false)
         boolean takeFaceUp = random.nextBoolean();
 
-        Card card = takeFaceUp ? chosenOffer.getFaceUpCard()
-                : chosenOffer.getFaceDownCard();
-
         // If that card is not available, automatically pick the other one
-        if (card == null) {
-            takeFaceUp = !takeFaceUp; // flip decision
-            card = takeFaceUp ? chosenOffer.getFaceUpCard()
-                    : chosenOffer.getFaceDownCard();
+        if ((takeFaceUp ? offer.getFaceUpCard() : offer.getFaceDownCard()) == null) {
+            takeFaceUp = !takeFaceUp;
         }
-
-        // If still null → offer is invalid (should not happen)
-        if (card == null) {
-            return null;
-        }
-
-        // Take the card
-        chosenOffer.takeCard(takeFaceUp);
-
-        // Add to Jest
-        player.getJest().addCard(card);
-
-        return chosenOffer;
+        return takeFaceUp;
     }
 }
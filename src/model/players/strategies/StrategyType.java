@@ -3,5 +3,12 @@ package model.players.strategies;
 public enum StrategyType {
     RANDOM,
     AGGRESSIVE,
-    CAUTIOUS
+    CAUTIOUS,
+    ISMCTS,
+    ISMCTS_PARALLEL,
+    CFR,
+    TABLE,
+    ENDGAME,
+    EXPECTIMAX,
+    GREEDY
 }
@@ -0,0 +1,109 @@
+package model.players.strategies;
+
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.Offer;
+import model.players.Player;
+import model.search.CfrInfoSet;
+import model.search.DecisionTable;
+import model.search.GameSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Plays the action a DecisionTable stores for the CfrInfoSet key of the decision: one lookup in a
+// memory-mapped file, nothing allocated. The table file is jest.table (system property),
+// decision.table by default, mapped once and shared by every TABLE player of the process.
+// Decisions missing from the table are played like AGGRESSIVE, and so is every decision when the
+// property is not set and the default file does not exist; the launchers warn about that.
+public class TableStrategy implements PlayStrategy {
+    public static final String TABLE_PROPERTY = "jest.table";
+    private static DecisionTable sharedTable;
+    private static boolean tableLoaded;
+
+    private final DecisionTable table;
+    private final PlayStrategy fallback = new AggressiveStrategy();
+    private final GameSnapshot state = new GameSnapshot();
+    private Game game;
+    private int seat;
+    private GameAction pendingChoice;
+
+    public TableStrategy() {
+        this(defaultTable());
+    }
+
+    // table may be null: the player then plays like AGGRESSIVE
+    public TableStrategy(DecisionTable table) {
+        this.table = table;
+    }
+
+    // the file named by the jest.table property, else decision.table in the working directory
+    public static Path defaultTablePath() {
+        String property = System.getProperty(TABLE_PROPERTY);
+        return Path.of(property != null ? property : "decision.table");
+    }
+
+    // null when the property is not set and the default file does not exist; the launchers warn
+    public static synchronized DecisionTable defaultTable() {
+        if (!tableLoaded) {
+            Path path = defaultTablePath();
+            if (System.getProperty(TABLE_PROPERTY) != null || Files.exists(path)) {
+                try {
+                    sharedTable = DecisionTable.open(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read the decision table " + path.toAbsolutePath(), e);
+                }
+            }
+            tableLoaded = true;
+        }
+        return sharedTable;
+    }
+
+    @Override
+    public void takeSeat(Game game, int seat) {
+        this.game = game;
+        this.seat = seat;
+    }
+
+    @Override
+    public int chooseFaceUpIndex(Player player) {
+        GameAction action = lookUp(GamePhase.OFFER);
+        return action != null ? action.getFaceUpIndex() : fallback.chooseFaceUpIndex(player);
+    }
+
+    @Override
+    public Offer chooseOffer(List<Offer> availableOffers, Player player) {
+        pendingChoice = lookUp(GamePhase.CHOOSE);
+        if (pendingChoice == null) {
+            return fallback.chooseOffer(availableOffers, player);
+        }
+        return game.getRound().getOffer(pendingChoice.getOfferSeat());
+    }
+
+    @Override
+    public boolean chooseFaceUp(Offer offer, Player player) {
+        GameAction choice = pendingChoice;
+        pendingChoice = null;
+        if (choice == null || game.getRound().getOffer(choice.getOfferSeat()) != offer) {
+            return fallback.chooseFaceUp(offer, player);
+        }
+        return choice.isFaceUp();
+    }
+
+    // the stored action, null if the table has none or it is not legal here
+    private GameAction lookUp(GamePhase phase) {
+        if (game == null) {
+            throw new IllegalStateException("A table player needs its game, see VirtualPlayer.takeSeat().");
+        }
+        if (table == null) return null;
+        state.capture(game, phase, seat);
+        int slot = table.lookUp(CfrInfoSet.key(state, seat));
+        if (slot == DecisionTable.NO_SLOT) return null;
+        GameAction action = CfrInfoSet.action(state, slot);
+        return state.isLegal(action) ? action : null;
+    }
+}
@@ -0,0 +1,20 @@
+package model.search;
+
+import model.game.GameAction;
+
+import java.util.SplittableRandom;
+
+// A search picking the action of the current seat of a snapshot.
+public interface ActionSearch {
+    // best action of the root's current seat; root is only read, never changed
+    public abstract GameAction search(GameSnapshot root, SplittableRandom random);
+
+    // visits of a root action in the last search, the robust measure of its value
+    public abstract int getRootVisits(GameAction action);
+
+    // playouts run by the last search
+    public abstract int getLastIterations();
+
+    // samples the hidden cards; constraints set on it hold for the following searches
+    public abstract DeterminizationSampler getSampler();
+}
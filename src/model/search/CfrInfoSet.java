@@ -0,0 +1,92 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.ScoreTable;
+
+// Abstraction of what a seat knows at a decision, packed in a long, and the seat-relative action
+// slots CFR learns over. Offers are seen relative to the deciding seat (1 is the next seat), so
+// every seat shares one policy. While offering the seat's two cards are kept exactly; every other
+// card is reduced to the score it would add to the seat's jest. Key bits, low to high:
+//   phase (1) | 4 players (1) | round - 1 (2)
+//   | offering: own cards, lowest index first (5 + 5)
+//     choosing: gain of the own face-up card, gain of the own face-down card (3 + 3), then the
+//     gain of the face-up card of relative seats 1..3 (3 x 3), 0 for an offer that is not complete
+//   | jest score bucket (3) | joker (1) | hearts bucket (2)
+//   | offering: gain of the face-up card of relative seats 1..3 (3 x 3), 0 for a seat that has not
+//     offered yet | marker bit 63, so no key is 0
+// A gain is 3 + the score added clamped to -2..3, so 1..6, and 0 when there is no card. Trophies
+// are left out: with them the abstraction no longer repeats across games often enough to learn
+// anything.
+// Offer slots: 0 puts own card A face up, 1 card B. Choice slots: relativeSeat * 2 (+1 face down).
+public final class CfrInfoSet {
+    public static final int SLOTS = Game.MAX_SEATS * 2;
+
+    private CfrInfoSet() {
+    }
+
+    public static long key(GameSnapshot s, int seat) {
+        int seats = s.getSeatCount();
+        int jest = s.getJest(seat);
+        int score = ScoreTable.score(jest);
+
+        long key = (seats == 4 ? 1L : 0L) << 1;
+        key |= (long) Math.min(3, s.getRoundNumber() - 1) << 2;
+        // the own cards fill bits 4-13 while offering, so the face-ups shown go higher
+        int shownShift = 10;
+        if (s.getPhase() == GamePhase.OFFER) {
+            int first = s.getHandCard(seat, 0);
+            int second = s.getHandCard(seat, 1);
+            key |= (long) Math.min(first, second) << 4;
+            key |= (long) Math.max(first, second) << 9;
+            shownShift = 25;
+        } else {
+            key |= 1;
+            key |= (long) gain(jest, score, s.getOfferUp(seat)) << 4;
+            key |= (long) gain(jest, score, s.getOfferDown(seat)) << 7;
+        }
+        int complete = s.getCompleteOffersMask();
+        for (int relative = 1; relative < seats; relative++) {
+            int other = (seat + relative) % seats;
+            if ((complete & (1 << other)) == 0) continue;
+            key |= (long) gain(jest, score, s.getOfferUp(other)) << (shownShift + (relative - 1) * 3);
+        }
+        // score buckets: < 0, 0-1, 2-3, 4-5, 6-7, 8-10, 11+
+        int bucket = score < 0 ? 0 : score < 8 ? 1 + score / 2 : score < 11 ? 5 : 6;
+        key |= (long) bucket << 19;
+        key |= (CardSet.hasJoker(jest) ? 1L : 0L) << 22;
+        int hearts = Integer.bitCount(CardSet.suitFaces(jest, 0));
+        key |= (long) (hearts == 0 ? 0 : hearts < 3 ? 1 : hearts == 3 ? 2 : 3) << 23;
+        return key | 1L << 63;
+    }
+
+    // slot of a legal action of the current seat
+    public static int slot(GameSnapshot s, GameAction action) {
+        int seat = s.getCurrentSeat();
+        if (action.getType() == GameAction.Type.OFFER) {
+            int faceUp = s.getHandCard(seat, action.getFaceUpIndex());
+            int other = s.getHandCard(seat, 1 - action.getFaceUpIndex());
+            return faceUp < other ? 0 : 1;
+        }
+        int relative = (action.getOfferSeat() - seat + s.getSeatCount()) % s.getSeatCount();
+        return relative * 2 + (action.isFaceUp() ? 0 : 1);
+    }
+
+    // the action of a slot for the current seat, the inverse of slot()
+    public static GameAction action(GameSnapshot s, int slot) {
+        int seat = s.getCurrentSeat();
+        if (s.getPhase() == GamePhase.OFFER) {
+            boolean firstIsLow = s.getHandCard(seat, 0) < s.getHandCard(seat, 1);
+            return GameAction.offer((slot == 0) == firstIsLow ? 0 : 1);
+        }
+        return GameAction.choose((seat + slot / 2) % s.getSeatCount(), slot % 2 == 0);
+    }
+
+    // 0 for no card
+    private static int gain(int jest, int score, int card) {
+        if (card == GameSnapshot.NONE) return 0;
+        return 1 + Math.max(-2, Math.min(3, ScoreTable.score(jest | 1 << card) - score)) + 2;
+    }
+}
@@ -0,0 +1,120 @@
+package model.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// The average strategy of a CFR run, read-only: keys sorted for binary search and one byte of
+// probability (0..255) per action slot. File layout, big-endian:
+//   int MAGIC | int VERSION | int slots | int count | count x (long key, slots x byte)
+public class CfrPolicy {
+    private static final int MAGIC = 0x4A434652; // "JCFR"
+    private static final int VERSION = 1;
+
+    private final long[] keys;
+    private final byte[] weights;
+
+    private CfrPolicy(long[] keys, byte[] weights) {
+        this.keys = keys;
+        this.weights = weights;
+    }
+
+    static CfrPolicy from(RegretTable table) {
+        int slots = CfrInfoSet.SLOTS;
+        int count = 0;
+        long[] keys = new long[table.capacity()];
+        for (int entry = 0; entry < table.capacity(); entry++) {
+            if (table.getKey(entry) != 0 && strategyTotal(table, entry) > 0) {
+                keys[count++] = table.getKey(entry);
+            }
+        }
+        // keys are unique: sort them, then look their entries up again
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        byte[] weights = new byte[count * slots];
+        for (int i = 0; i < count; i++) {
+            int entry = table.find(keys[i]);
+            double total = strategyTotal(table, entry);
+            for (int slot = 0; slot < slots; slot++) {
+                weights[i * slots + slot] = (byte) Math.round(table.getStrategySum(entry, slot) / total * 255);
+            }
+        }
+        return new CfrPolicy(keys, weights);
+    }
+
+    private static double strategyTotal(RegretTable table, int entry) {
+        double total = 0;
+        for (int slot = 0; slot < CfrInfoSet.SLOTS; slot++) {
+            total += table.getStrategySum(entry, slot);
+        }
+        return total;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean contains(long key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    // slot drawn from the policy among legalSlots, -1 if the information set is not in the policy
+    public int sample(long key, int legalSlots, SplittableRandom random) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) return -1;
+        int base = index * CfrInfoSet.SLOTS;
+        int total = 0;
+        for (int rest = legalSlots; rest != 0; rest &= rest - 1) {
+            total += weights[base + Integer.numberOfTrailingZeros(rest)] & 0xFF;
+        }
+        if (total == 0) {
+            // every legal slot rounded to 0: play them uniformly
+            int pick = random.nextInt(Integer.bitCount(legalSlots));
+            for (int rest = legalSlots; ; rest &= rest - 1) {
+                if (pick-- == 0) return Integer.numberOfTrailingZeros(rest);
+            }
+        }
+        int pick = random.nextInt(total);
+        for (int rest = legalSlots; rest != 0; rest &= rest - 1) {
+            int slot = Integer.numberOfTrailingZeros(rest);
+            pick -= weights[base + slot] & 0xFF;
+            if (pick < 0) return slot;
+        }
+        return Integer.numberOfTrailingZeros(legalSlots);
+    }
+
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(CfrInfoSet.SLOTS);
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.write(weights, i * CfrInfoSet.SLOTS, CfrInfoSet.SLOTS);
+            }
+        }
+    }
+
+    public static CfrPolicy load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != CfrInfoSet.SLOTS) {
+                throw new IOException("Not a Jest CFR policy file: " + path);
+            }
+            int count = in.readInt();
+            long[] keys = new long[count];
+            byte[] weights = new byte[count * CfrInfoSet.SLOTS];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                in.readFully(weights, i * CfrInfoSet.SLOTS, CfrInfoSet.SLOTS);
+            }
+            return new CfrPolicy(keys, weights);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package model.search;
+
+import model.game.Game;
+import model.game.GameAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// External sampling Monte Carlo CFR over the CfrInfoSet abstraction, for offers and choices alike.
+// An iteration deals a new game (the deck order is the sampled chance outcome), then walks it for
+// one traverser: every action of the traverser is tried, the other seats sample one action from
+// their current strategy. The payoff is the share of the win, as in ISMCTS. Threads share one
+// lock-free RegretTable; iteration i uses seed + i and traverser i % players.
+public class CfrTrainer {
+    private final RegretTable table;
+    private final int threads;
+
+    public CfrTrainer(int tableBits, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Training needs at least one thread.");
+        }
+        this.table = new RegretTable(tableBits);
+        this.threads = threads;
+    }
+
+    public RegretTable getTable() {
+        return table;
+    }
+
+    // returns the information sets in the table afterwards
+    public int train(long iterations, long seed, int seatCount) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long from = iterations * t / threads;
+                long to = iterations * (t + 1) / threads;
+                futures.add(executor.submit(() -> new Worker().run(from, to, seed, seatCount)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Training thread failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return countEntries();
+    }
+
+    public CfrPolicy toPolicy() {
+        return CfrPolicy.from(table);
+    }
+
+    private int countEntries() {
+        int count = 0;
+        for (int entry = 0; entry < table.capacity(); entry++) {
+            if (table.getKey(entry) != 0) count++;
+        }
+        return count;
+    }
+
+    // one training thread with its own game state and per-depth scratch arrays
+    private final class Worker {
+        private final GameSnapshot state = new GameSnapshot();
+        private final GameAction[][] legal = new GameAction[IsmctsSearch.MAX_DEPTH][GameAction.COUNT];
+        private final double[][] sigma = new double[IsmctsSearch.MAX_DEPTH][CfrInfoSet.SLOTS];
+        private final double[][] utility = new double[IsmctsSearch.MAX_DEPTH][CfrInfoSet.SLOTS];
+        private final double[] rewards = new double[Game.MAX_SEATS];
+        private SplittableRandom random;
+
+        private void run(long from, long to, long seed, int seatCount) {
+            for (long i = from; i < to; i++) {
+                random = new SplittableRandom(seed + i);
+                state.newGame(seatCount, random);
+                traverse(0, (int) (i % seatCount));
+            }
+        }
+
+        private double traverse(int depth, int traverser) {
+            if (state.isFinished()) {
+                IsmctsSearch.scoreRewards(state, rewards);
+                return rewards[traverser];
+            }
+            int seat = state.getCurrentSeat();
+            GameAction[] actions = legal[depth];
+            int count = state.getLegalActions(actions);
+            int legalSlots = 0;
+            for (int i = 0; i < count; i++) {
+                legalSlots |= 1 << CfrInfoSet.slot(state, actions[i]);
+            }
+            int entry = table.entry(CfrInfoSet.key(state, seat));
+            double[] strategy = sigma[depth];
+            table.strategy(entry, legalSlots, strategy);
+
+            if (seat == traverser) {
+                double[] values = utility[depth];
+                double nodeValue = 0;
+                for (int i = 0; i < count; i++) {
+                    int slot = CfrInfoSet.slot(state, actions[i]);
+                    state.make(actions[i]);
+                    values[slot] = traverse(depth + 1, traverser);
+                    state.unmake();
+                    nodeValue += strategy[slot] * values[slot];
+                }
+                if (entry >= 0) {
+                    for (int i = 0; i < count; i++) {
+                        int slot = CfrInfoSet.slot(state, actions[i]);
+                        table.addRegret(entry, slot, (float) (values[slot] - nodeValue));
+                    }
+                }
+                return nodeValue;
+            }
+
+            // the other seats sample one action and build up the average strategy
+            double pick = random.nextDouble();
+            int chosen = count - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = CfrInfoSet.slot(state, actions[i]);
+                if (entry >= 0) table.addStrategy(entry, slot, (float) strategy[slot]);
+                if (pick >= 0) {
+                    pick -= strategy[slot];
+                    if (pick < 0) chosen = i;
+                }
+            }
+            state.make(actions[chosen]);
+            double value = traverse(depth + 1, traverser);
+            state.unmake();
+            return value;
+        }
+    }
+}
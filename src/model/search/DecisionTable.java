@@ -0,0 +1,115 @@
+package model.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A read-only open-addressed table from CfrInfoSet key to action slot, used straight from a
+// memory-mapped file: opening maps the file and checks the header, lookups read the mapping with
+// absolute gets and allocate nothing. File layout, big-endian:
+//   int MAGIC | int VERSION | int capacity bits | int count | capacity x long key | capacity x byte slot
+// A key of 0 marks an empty entry; keys are placed by linear probing from RegretTable.mix(key).
+// Capacity is at most 2^MAX_BITS, so the file (about 1.2 GB then) fits one mapping and every
+// offset fits an int.
+public class DecisionTable {
+    private static final int MAGIC = 0x4A54424C; // "JTBL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_BITS = 27;
+    public static final int NO_SLOT = -1;
+
+    private final MappedByteBuffer buffer;
+    private final int mask;
+    private final int count;
+    private final int slotsOffset;
+
+    private DecisionTable(MappedByteBuffer buffer, int bits, int count) {
+        this.buffer = buffer;
+        this.mask = (1 << bits) - 1;
+        this.count = count;
+        this.slotsOffset = HEADER_BYTES + (mask + 1) * Long.BYTES;
+    }
+
+    public static DecisionTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the header is checked before anything is mapped
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a Jest decision table: " + path);
+            }
+            int bits = header.getInt(8);
+            int count = header.getInt(12);
+            if (bits < 1 || bits > MAX_BITS || count < 0 || count > 1 << (bits - 1)
+                    || channel.size() != HEADER_BYTES + ((long) (Long.BYTES + 1) << bits)) {
+                throw new IOException("Truncated or corrupt decision table: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new DecisionTable(buffer, bits, count);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // the slot stored for the key, NO_SLOT if the key is not in the table
+    public int lookUp(long key) {
+        int index = (int) RegretTable.mix(key) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            long current = buffer.getLong(HEADER_BYTES + index * Long.BYTES);
+            if (current == key) return buffer.get(slotsOffset + index);
+            if (current == 0) return NO_SLOT;
+            index = (index + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    // writes count keys (non-zero, distinct) with their slots, at most half full
+    public static void write(Path path, long[] keys, byte[] slots, int count) throws IOException {
+        if (count < 0 || count > 1 << (MAX_BITS - 1)) {
+            throw new IllegalArgumentException("A decision table holds at most " + (1 << (MAX_BITS - 1))
+                    + " keys, not " + count);
+        }
+        int bits = 1;
+        while ((1L << bits) < 2L * count) {
+            bits++;
+        }
+        int mask = (1 << bits) - 1;
+        long[] tableKeys = new long[mask + 1];
+        byte[] tableSlots = new byte[mask + 1];
+        for (int i = 0; i < count; i++) {
+            if (keys[i] == 0) {
+                throw new IllegalArgumentException("0 is not a valid key.");
+            }
+            int index = (int) RegretTable.mix(keys[i]) & mask;
+            while (tableKeys[index] != 0) {
+                if (tableKeys[index] == keys[i]) {
+                    throw new IllegalArgumentException("Duplicate key " + Long.toHexString(keys[i]));
+                }
+                index = (index + 1) & mask;
+            }
+            tableKeys[index] = keys[i];
+            tableSlots[index] = slots[i];
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + (mask + 1) * (Long.BYTES + 1));
+        out.putInt(MAGIC).putInt(VERSION).putInt(bits).putInt(count);
+        for (long key : tableKeys) {
+            out.putLong(key);
+        }
+        out.put(tableSlots);
+        out.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package model.search;
+
+import model.game.GameAction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Distills ISMCTS into a DecisionTable: seeded self-play games where every decision is an ISMCTS
+// search, each search a vote for its action slot under the CfrInfoSet key of the deciding seat.
+// Each key keeps the slot with the most votes (the lowest slot on a tie). Game i uses seed + i,
+// so the table only depends on the seed, the game count and the search budget.
+public class DecisionTableGenerator {
+    private final int threads;
+    private final int iterations;
+    private final Map<Long, int[]> votes = new HashMap<>();
+
+    public DecisionTableGenerator(int threads, int iterations) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Generating needs at least one thread.");
+        }
+        this.threads = threads;
+        this.iterations = iterations;
+    }
+
+    public void play(long games, long seed, int seatCount) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Long, int[]>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long from = games * t / threads;
+                long to = games * (t + 1) / threads;
+                futures.add(executor.submit(() -> playRange(from, to, seed, seatCount)));
+            }
+            // merged in thread order, so the result does not depend on scheduling
+            for (Future<Map<Long, int[]>> future : futures) {
+                future.get().forEach((key, counts) -> {
+                    int[] total = votes.computeIfAbsent(key, k -> new int[CfrInfoSet.SLOTS]);
+                    for (int slot = 0; slot < CfrInfoSet.SLOTS; slot++) {
+                        total[slot] += counts[slot];
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generation thread failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public int size() {
+        return votes.size();
+    }
+
+    private Map<Long, int[]> playRange(long from, long to, long seed, int seatCount) {
+        Map<Long, int[]> counts = new HashMap<>();
+        IsmctsSearch search = new IsmctsSearch(iterations, 0);
+        GameSnapshot state = new GameSnapshot();
+        for (long i = from; i < to; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            state.newGame(seatCount, random);
+            while (!state.isFinished()) {
+                GameAction action = search.search(state, random);
+                long key = CfrInfoSet.key(state, state.getCurrentSeat());
+                counts.computeIfAbsent(key, k -> new int[CfrInfoSet.SLOTS])[CfrInfoSet.slot(state, action)]++;
+                state.apply(action);
+            }
+        }
+        return counts;
+    }
+
+    public void write(Path path) throws IOException {
+        long[] keys = new long[votes.size()];
+        byte[] slots = new byte[votes.size()];
+        int count = 0;
+        for (Map.Entry<Long, int[]> entry : votes.entrySet()) {
+            int[] counts = entry.getValue();
+            int best = 0;
+            for (int slot = 1; slot < counts.length; slot++) {
+                if (counts[slot] > counts[best]) best = slot;
+            }
+            keys[count] = entry.getKey();
+            slots[count++] = (byte) best;
+        }
+        DecisionTable.write(path, keys, slots, count);
+    }
+}
@@ -0,0 +1,345 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.BeliefTracker;
+import model.game.Game;
+import model.game.GamePhase;
+import model.game.GameStateMachine;
+import model.players.strategies.StrategyType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Samples determinizations: complete worlds in which the cards an observer cannot see are dealt
+// into their slots (see GameSnapshot.fillHidden()), uniformly among the worlds that agree with the
+// constraints. A constraint is what the observer knows beyond the snapshot: cards it knows are in
+// a seat's hand or jest (a card it offered face down that the seat took) or at a deck position
+// (leftovers that went back to the deck) and what a face-down card can be. prepare() lays the
+// slots of a root out once, then every sample() draws each free slot from a bitmask of the cards
+// left with CardSet.nth() and allocates nothing. Face-down cards that can only be some of the
+// hidden cards are sampled by rejection, which keeps the draw uniform; after MAX_TRIES rejections
+// a sample gives up exact uniformity to fit them.
+// Not thread safe: every thread needs its own sampler, copyConstraints() shares what is known.
+public class DeterminizationSampler {
+    private static final int NONE = GameSnapshot.NONE;
+    private static final int MAX_TRIES = 32;
+
+    // constraints, kept until cleared
+    private final int[] handCards = new int[Game.MAX_SEATS];
+    private final int[] jestCards = new int[Game.MAX_SEATS];
+    private final int[] faceDownCandidates = new int[Game.MAX_SEATS];
+    private final int[] deckCards = new int[CardSet.CARD_COUNT];
+
+    // slots of the prepared root, in fillHidden() order
+    private GameSnapshot root;
+    private int observer;
+    private final int[] cards = new int[CardSet.CARD_COUNT];
+    private final int[] candidates = new int[CardSet.CARD_COUNT];
+    // pinned and constrained slots, filled before the free ones
+    private final boolean[] drawnFirst = new boolean[CardSet.CARD_COUNT];
+    private int slotCount;
+    private int freeMask;
+    private int constrainedCount;
+    private final int[] constrainedSlots = new int[Game.MAX_SEATS];
+    private int rejections;
+
+    public DeterminizationSampler() {
+        clearConstraints();
+    }
+
+    public final void clearConstraints() {
+        Arrays.fill(handCards, CardSet.EMPTY);
+        Arrays.fill(jestCards, CardSet.EMPTY);
+        Arrays.fill(faceDownCandidates, CardSet.FULL);
+        Arrays.fill(deckCards, NONE);
+    }
+
+    // cards the observer knows are in the seat's hand
+    public void requireInHand(int seat, int cardMask) {
+        handCards[seat] |= cardMask;
+    }
+
+    // cards the observer knows are in the seat's jest, taken face down or not
+    public void requireInJest(int seat, int cardMask) {
+        jestCards[seat] |= cardMask;
+    }
+
+    // cards the seat's face-down offer card can be
+    public void restrictFaceDown(int seat, int cardMask) {
+        faceDownCandidates[seat] &= cardMask;
+    }
+
+    // card the observer knows at a deck position, 0 being the bottom
+    public void pinDeck(int position, int card) {
+        deckCards[position] = card;
+    }
+
+    public void copyConstraints(DeterminizationSampler other) {
+        System.arraycopy(other.handCards, 0, handCards, 0, handCards.length);
+        System.arraycopy(other.jestCards, 0, jestCards, 0, jestCards.length);
+        System.arraycopy(other.faceDownCandidates, 0, faceDownCandidates, 0, faceDownCandidates.length);
+        System.arraycopy(other.deckCards, 0, deckCards, 0, deckCards.length);
+    }
+
+    // replaces the constraints by what the tracker's observer knows
+    public void constrain(BeliefTracker tracker, int seatCount) {
+        clearConstraints();
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == tracker.getObserver()) continue;
+            requireInHand(seat, tracker.getKnownHand(seat));
+            requireInJest(seat, tracker.getKnownJest(seat));
+            int possible = tracker.getPossibleFaceDown(seat);
+            if (possible != CardSet.EMPTY) restrictFaceDown(seat, possible);
+        }
+        for (int position = 0; position < tracker.getDeckSize(); position++) {
+            pinDeck(position, tracker.getKnownDeckCard(position));
+        }
+    }
+
+    // lays out the hidden slots of root as seen by observer; root must not change until the next
+    // prepare()
+    public void prepare(GameSnapshot root, int observer) {
+        this.root = root;
+        this.observer = observer;
+        int hidden = root.getHiddenMask(observer);
+        int taken = CardSet.EMPTY;
+        slotCount = 0;
+        constrainedCount = 0;
+        for (int seat = 0; seat < root.getSeatCount(); seat++) {
+            if (seat == observer) continue;
+            // known hand cards go to the first hand slots: to the observer both slots are alike
+            int known = handCards[seat] & hidden;
+            for (int i = 0; i < 2; i++) {
+                if (root.getHandCard(seat, i) == NONE) continue;
+                if (known != CardSet.EMPTY) {
+                    taken = pin(CardSet.first(known), taken);
+                    known &= known - 1;
+                } else {
+                    addSlot(hidden);
+                }
+            }
+            if (known != CardSet.EMPTY) {
+                throw new IllegalStateException("Seat " + seat + " cannot hold all the cards known to be in its hand.");
+            }
+            if (root.getOfferDown(seat) != NONE) {
+                int allowed = faceDownCandidates[seat] & hidden;
+                if (allowed == CardSet.EMPTY) {
+                    throw new IllegalStateException("No card fits the face-down card of seat " + seat + ".");
+                }
+                if (Integer.bitCount(allowed) == 1) {
+                    taken = pin(CardSet.first(allowed), taken);
+                } else {
+                    boolean constrained = allowed != hidden;
+                    if (constrained) constrainedSlots[constrainedCount++] = slotCount;
+                    addSlot(allowed);
+                    drawnFirst[slotCount - 1] = constrained;
+                }
+            }
+        }
+        for (int position = 0; position < root.getDeckSize(); position++) {
+            int card = deckCards[position];
+            if (card != NONE && (hidden & 1 << card) != 0) {
+                taken = pin(card, taken);
+            } else {
+                addSlot(hidden);
+            }
+        }
+        for (int seat = 0; seat < root.getSeatCount(); seat++) {
+            if (seat == observer) continue;
+            int slots = Integer.bitCount(root.getHiddenJest(seat));
+            int known = jestCards[seat] & hidden;
+            if (Integer.bitCount(known) > slots) {
+                throw new IllegalStateException("Seat " + seat + " took fewer cards face down than are known in its jest.");
+            }
+            for (; known != CardSet.EMPTY; known &= known - 1, slots--) {
+                taken = pin(CardSet.first(known), taken);
+            }
+            for (; slots > 0; slots--) {
+                addSlot(hidden);
+            }
+        }
+        freeMask = hidden & ~taken;
+        for (int i = 0; i < constrainedCount; i++) {
+            candidates[constrainedSlots[i]] &= freeMask;
+            if (candidates[constrainedSlots[i]] == CardSet.EMPTY) {
+                throw new IllegalStateException("The constraints leave no card for a face-down card.");
+            }
+        }
+        rejections = 0;
+    }
+
+    // copies the prepared root into work with the hidden cards dealt at random
+    public void sample(SplittableRandom random, GameSnapshot work) {
+        if (root == null) {
+            throw new IllegalStateException("prepare() a root before sampling.");
+        }
+        work.copyFrom(root);
+        boolean drawn = false;
+        for (int tries = 0; tries < MAX_TRIES && !drawn; tries++) {
+            drawn = draw(random, true);
+            if (!drawn) rejections++;
+        }
+        if (!drawn) draw(random, false);
+        work.fillHidden(observer, cards);
+    }
+
+    // samples rejected by the face-down constraints since the last prepare()
+    public int getRejections() {
+        return rejections;
+    }
+
+    // The constrained slots are drawn first: the first one from its candidates left, the others
+    // from every card left, rejected when the card does not fit. Every consistent world is then
+    // equally likely. The free slots get a uniform permutation of the cards left. Without
+    // rejection every constrained slot draws from its candidates left, which always fits when the
+    // candidates are disjoint but is no longer exactly uniform.
+    private boolean draw(SplittableRandom random, boolean reject) {
+        int free = freeMask;
+        for (int i = 0; i < constrainedCount; i++) {
+            int slot = constrainedSlots[i];
+            int allowed = i == 0 || !reject ? candidates[slot] & free : free;
+            if (allowed == CardSet.EMPTY) {
+                if (reject) return false;
+                allowed = free;
+            }
+            int card = CardSet.nth(allowed, random.nextInt(Integer.bitCount(allowed)));
+            if ((candidates[slot] & 1 << card) == 0 && reject) return false;
+            cards[slot] = card;
+            free &= ~(1 << card);
+        }
+        int left = Integer.bitCount(free);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (drawnFirst[slot]) continue;
+            int card = CardSet.nth(free, random.nextInt(left--));
+            cards[slot] = card;
+            free &= ~(1 << card);
+        }
+        return true;
+    }
+
+    private void addSlot(int allowed) {
+        cards[slotCount] = NONE;
+        candidates[slotCount] = allowed;
+        drawnFirst[slotCount] = false;
+        slotCount++;
+    }
+
+    private int pin(int card, int taken) {
+        if ((taken & 1 << card) != 0) {
+            throw new IllegalStateException("Card " + card + " is known in two places.");
+        }
+        cards[slotCount] = card;
+        candidates[slotCount] = 1 << card;
+        drawnFirst[slotCount] = true;
+        slotCount++;
+        return taken | 1 << card;
+    }
+
+    // functions test: samples keep what a BeliefTracker knows in seeded bot games, face-down
+    // constraints are drawn uniformly, and the speed of sampling
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        StrategyType[] types = {StrategyType.RANDOM, StrategyType.AGGRESSIVE,
+                StrategyType.CAUTIOUS};
+        DeterminizationSampler sampler = new DeterminizationSampler();
+        GameSnapshot root = new GameSnapshot();
+        GameSnapshot work = new GameSnapshot();
+        SplittableRandom random = new SplittableRandom(1);
+        int violations = 0;
+        long samples = 0;
+        for (int players = 3; players <= 4; players++) {
+            Game game = new Game(0);
+            for (int seat = 0; seat < players; seat++) {
+                game.addVirtualPlayer("Bot " + (seat + 1), types[seat % types.length]);
+            }
+            GameStateMachine machine = new GameStateMachine(game);
+            BeliefTracker[] trackers = new BeliefTracker[players];
+            for (int seat = 0; seat < players; seat++) {
+                trackers[seat] = new BeliefTracker(seat);
+                machine.addListener(trackers[seat]);
+            }
+            for (long seed = 0; seed < games; seed++) {
+                game.reset(seed);
+                machine.start();
+                do {
+                    int observer = machine.getCurrentSeat();
+                    root.capture(machine);
+                    sampler.constrain(trackers[observer], players);
+                    sampler.prepare(root, observer);
+                    for (int i = 0; i < 8; i++) {
+                        sampler.sample(random, work);
+                        violations += check(sampler, root, work, observer);
+                        samples++;
+                    }
+                } while (machine.step());
+            }
+        }
+        System.out.println(samples + " samples, " + violations + " violations");
+
+        // uniformity: the face-down card of a seat restricted to three cards
+        Game game = new Game(3);
+        for (int seat = 0; seat < 3; seat++) {
+            game.addVirtualPlayer("Bot " + (seat + 1), types[seat]);
+        }
+        GameStateMachine machine = new GameStateMachine(game);
+        machine.start();
+        while (machine.getPhase() == GamePhase.OFFER) {
+            machine.step();
+        }
+        root.capture(machine);
+        int observer = machine.getCurrentSeat();
+        int other = (observer + 1) % 3;
+        int hidden = root.getHiddenMask(observer);
+        int allowed = 1 << root.getOfferDown(other);
+        for (int rest = hidden & ~allowed; Integer.bitCount(allowed) < 3; rest &= rest - 1) {
+            allowed |= 1 << CardSet.first(rest);
+        }
+        sampler.clearConstraints();
+        sampler.restrictFaceDown(other, allowed);
+        sampler.prepare(root, observer);
+        int[] counts = new int[CardSet.CARD_COUNT];
+        int draws = 3_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < draws; i++) {
+            sampler.sample(random, work);
+            counts[work.getOfferDown(other)]++;
+        }
+        long nanos = System.nanoTime() - start;
+        double worst = 0;
+        for (int rest = allowed; rest != 0; rest &= rest - 1) {
+            worst = Math.max(worst, Math.abs(counts[CardSet.first(rest)] * 3.0 / draws - 1));
+        }
+        System.out.printf("face-down over %d cards: worst deviation %.4f, %d rejections%n",
+                Integer.bitCount(allowed), worst, sampler.getRejections());
+        System.out.printf("%.2f million samples/s%n", draws * 1000.0 / nanos);
+    }
+
+    private static int check(DeterminizationSampler sampler, GameSnapshot root, GameSnapshot work, int observer) {
+        int violations = 0;
+        if (work.getHiddenMask(observer) != root.getHiddenMask(observer)) violations++;
+        if (work.getHash() != work.computeHash()) violations++;
+        for (int seat = 0; seat < root.getSeatCount(); seat++) {
+            int shown = root.getJest(seat) & ~root.getHiddenJest(seat);
+            if ((work.getJest(seat) & ~work.getHiddenJest(seat)) != shown || work.getOfferUp(seat) != root.getOfferUp(seat)) {
+                violations++;
+            }
+            if (seat == observer) {
+                if (work.getHandMask(seat) != root.getHandMask(seat) || work.getOfferDown(seat) != root.getOfferDown(seat)
+                        || work.getJest(seat) != root.getJest(seat)) {
+                    violations++;
+                }
+                continue;
+            }
+            if ((sampler.handCards[seat] & root.getHiddenMask(observer) & ~work.getHandMask(seat)) != 0) violations++;
+            if ((sampler.jestCards[seat] & ~work.getJest(seat)) != 0) violations++;
+            if (work.getOfferDown(seat) != NONE && (sampler.faceDownCandidates[seat] & 1 << work.getOfferDown(seat)) == 0) {
+                violations++;
+            }
+        }
+        for (int position = 0; position < root.getDeckSize(); position++) {
+            int card = sampler.deckCards[position];
+            if (card != NONE && work.getDeckCard(position) != card) violations++;
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,320 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Exact solver of the final round (GameSnapshot.isFinalRound()) with every card known: max^n over
+// the remaining offers and choices, where each seat takes the action with its best share of the
+// win, down to the scores and trophies of the finished game.
+// The result of a position is the mask of the seats that win. Positions are looked up in an
+// optional EndgameTablebase, then in a memo of positions solved before; offer-phase positions
+// go into the memo, the smaller choice subtrees are searched again when met.
+// For a player who cannot see every card, actionValues() averages the solved values over every
+// placement of the hidden cards consistent with what the observer sees, all equally likely. Cards
+// other seats took face down make that number grow fast; past MAX_WORLDS placements, MAX_WORLDS
+// of them are drawn with a DeterminizationSampler seeded by the position instead.
+public class EndgameSolver {
+    private static final int MAX_DEPTH = 2 * Game.MAX_SEATS + 1;
+    // shares of the win in twelfths, exact for 1 to 4 winners
+    private static final int WHOLE = 12;
+    private static final int MAX_WORLDS = 2048;
+
+    private final EndgameTablebase tablebase;
+    private final GameAction[][] legal = new GameAction[MAX_DEPTH][GameAction.COUNT];
+    private final long[] key = new long[2];
+
+    // memo, open addressing on (high, low) with high != 0
+    private long[] highs;
+    private long[] lows;
+    private byte[] winners;
+    private int size;
+
+    // world enumeration scratch
+    private final GameSnapshot world = new GameSnapshot();
+    private final int[] cards = new int[CardSet.CARD_COUNT];
+    private final int[] slotSizes = new int[3 * Game.MAX_SEATS];
+    private final DeterminizationSampler sampler = new DeterminizationSampler();
+    private int slotCount;
+    private GameSnapshot root;
+    private int observer;
+    private GameAction[] rootActions;
+    private int rootCount;
+    private double[] values;
+    private int worlds;
+
+    public EndgameSolver(EndgameTablebase tablebase) {
+        this.tablebase = tablebase;
+        clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public final void clear() {
+        highs = new long[1 << 12];
+        lows = new long[1 << 12];
+        winners = new byte[1 << 12];
+        size = 0;
+    }
+
+    // mask of the seats that win from this position with every card known
+    public int solve(GameSnapshot s) {
+        if (!s.isFinalRound() && !s.isFinished()) {
+            throw new IllegalArgumentException("Only the final round is solved.");
+        }
+        return solve(s, 0);
+    }
+
+    private int solve(GameSnapshot s, int depth) {
+        if (s.isFinished()) {
+            return winnerMask(s);
+        }
+        boolean offering = s.getPhase() == GamePhase.OFFER;
+        long high = 0;
+        long low = 0;
+        if (offering) {
+            EndgameTablebase.key(s, key);
+            high = key[0];
+            low = key[1];
+            if (tablebase != null) {
+                int known = tablebase.lookUp(high, low);
+                if (known != EndgameTablebase.NO_ENTRY) return known;
+            }
+            int known = find(high, low);
+            if (known != EndgameTablebase.NO_ENTRY) return known;
+        }
+
+        int seat = s.getCurrentSeat();
+        GameAction[] actions = legal[depth];
+        int count = s.getLegalActions(actions);
+        int best = 0;
+        int bestShare = -1;
+        for (int i = 0; i < count; i++) {
+            s.make(actions[i]);
+            int result = solve(s, depth + 1);
+            s.unmake();
+            int share = share(result, seat);
+            if (share > bestShare || share == bestShare && better(result, best)) {
+                bestShare = share;
+                best = result;
+            }
+        }
+        if (offering) put(high, low, best);
+        return best;
+    }
+
+    // fills out[i] with the average share of the win of actions[i] for the current seat, over the
+    // placements of the cards it cannot see; returns the number of placements
+    public int actionValues(GameSnapshot s, GameAction[] actions, int count, double[] out) {
+        if (!s.isFinalRound()) {
+            throw new IllegalArgumentException("Only the final round is solved.");
+        }
+        root = s;
+        observer = s.getCurrentSeat();
+        rootActions = actions;
+        rootCount = count;
+        values = out;
+        worlds = 0;
+        Arrays.fill(out, 0, count, 0);
+        int hidden = s.getHiddenMask(observer);
+        layOut(observer);
+        if (worldCount(Integer.bitCount(hidden)) > MAX_WORLDS) {
+            SplittableRandom random = new SplittableRandom(s.getHash());
+            sampler.prepare(s, observer);
+            for (int i = 0; i < MAX_WORLDS; i++) {
+                sampler.sample(random, world);
+                evaluate();
+            }
+        } else {
+            place(0, 0, hidden);
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] /= worlds;
+        }
+        root = null;
+        rootActions = null;
+        values = null;
+        return worlds;
+    }
+
+    // solves every deal of the hands of the position, which must start the final round; returns
+    // the number of deals
+    public int solveAllDeals(GameSnapshot s) {
+        if (!s.isFinalRound() || s.getPhase() != GamePhase.OFFER || s.getPlayedMask() != 0) {
+            throw new IllegalArgumentException("Deals are only enumerated at the start of the final round.");
+        }
+        root = s;
+        rootActions = null;
+        worlds = 0;
+        int hands = 0;
+        for (int seat = 0; seat < s.getSeatCount(); seat++) {
+            hands |= s.getHandMask(seat);
+        }
+        layOut(GameSnapshot.NONE);
+        place(0, 0, hands);
+        root = null;
+        return worlds;
+    }
+
+    // the hidden slots in GameSnapshot.fillHidden() order as groups whose order does not matter:
+    // hands, face-down cards, then the hidden jest cards of each seat (the deck is empty)
+    private void layOut(int observer) {
+        slotCount = 0;
+        for (int seat = 0; seat < root.getSeatCount(); seat++) {
+            if (seat == observer) continue;
+            int hand = Integer.bitCount(root.getHandMask(seat));
+            if (hand > 0) slotSizes[slotCount++] = hand;
+            if (root.getOfferDown(seat) != GameSnapshot.NONE) slotSizes[slotCount++] = 1;
+        }
+        if (observer != GameSnapshot.NONE) {
+            for (int seat = 0; seat < root.getSeatCount(); seat++) {
+                int jest = Integer.bitCount(root.getHiddenJest(seat));
+                if (seat != observer && jest > 0) slotSizes[slotCount++] = jest;
+            }
+        }
+        this.observer = observer;
+    }
+
+    // number of placements of the hidden cards into the groups
+    private double worldCount(int hidden) {
+        double count = 1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            for (int i = 0; i < slotSizes[slot]; i++) {
+                count = count * (hidden - i) / (i + 1);
+            }
+            hidden -= slotSizes[slot];
+        }
+        return count;
+    }
+
+    private void place(int slot, int next, int remaining) {
+        if (slot == slotCount) {
+            world.copyFrom(root);
+            world.fillHidden(observer, cards);
+            evaluate();
+            return;
+        }
+        choose(slot, next, remaining, remaining, slotSizes[slot]);
+    }
+
+    // the cards of a group, lowest first
+    private void choose(int slot, int next, int remaining, int candidates, int left) {
+        if (left == 0) {
+            place(slot + 1, next, remaining);
+            return;
+        }
+        for (int rest = candidates; rest != 0; rest &= rest - 1) {
+            int card = Integer.numberOfTrailingZeros(rest);
+            cards[next] = card;
+            choose(slot, next + 1, remaining & ~(1 << card), rest & (rest - 1), left - 1);
+        }
+    }
+
+    private void evaluate() {
+        worlds++;
+        if (rootActions == null) {
+            solve(world, 0);
+            return;
+        }
+        int seat = world.getCurrentSeat();
+        for (int i = 0; i < rootCount; i++) {
+            world.make(rootActions[i]);
+            values[i] += share(solve(world, 1), seat) / (double) WHOLE;
+            world.unmake();
+        }
+    }
+
+    private static int winnerMask(GameSnapshot s) {
+        int maxScore = Integer.MIN_VALUE;
+        int mask = 0;
+        for (int seat = 0; seat < s.getSeatCount(); seat++) {
+            int score = s.getScore(seat);
+            if (score > maxScore) {
+                maxScore = score;
+                mask = 1 << seat;
+            } else if (score == maxScore) {
+                mask |= 1 << seat;
+            }
+        }
+        return mask;
+    }
+
+    // tie-break between results of the same share for the mover: fewer winners, then the lower
+    // mask; it does not depend on the order of the actions, so the key of a position fixes its result
+    private static boolean better(int result, int best) {
+        int winners = Integer.bitCount(result);
+        int bestWinners = Integer.bitCount(best);
+        return winners < bestWinners || winners == bestWinners && result < best;
+    }
+
+    private static int share(int winnerMask, int seat) {
+        return (winnerMask & (1 << seat)) != 0 ? WHOLE / Integer.bitCount(winnerMask) : 0;
+    }
+
+    private int find(long high, long low) {
+        int mask = highs.length - 1;
+        for (int index = EndgameTablebase.index(high, low, mask); ; index = (index + 1) & mask) {
+            if (highs[index] == 0) return EndgameTablebase.NO_ENTRY;
+            if (highs[index] == high && lows[index] == low) return winners[index];
+        }
+    }
+
+    private void put(long high, long low, int result) {
+        if (2 * (size + 1) > highs.length) {
+            grow();
+        }
+        int mask = highs.length - 1;
+        int index = EndgameTablebase.index(high, low, mask);
+        while (highs[index] != 0) {
+            if (highs[index] == high && lows[index] == low) return;
+            index = (index + 1) & mask;
+        }
+        highs[index] = high;
+        lows[index] = low;
+        winners[index] = (byte) result;
+        size++;
+    }
+
+    private void grow() {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        byte[] oldWinners = winners;
+        highs = new long[oldHighs.length * 2];
+        lows = new long[oldHighs.length * 2];
+        winners = new byte[oldHighs.length * 2];
+        size = 0;
+        for (int index = 0; index < oldHighs.length; index++) {
+            if (oldHighs[index] != 0) put(oldHighs[index], oldLows[index], oldWinners[index]);
+        }
+    }
+
+    // adds the memo of another solver, for generators that solve on several threads
+    public void putAll(EndgameSolver other) {
+        for (int index = 0; index < other.highs.length; index++) {
+            if (other.highs[index] != 0) put(other.highs[index], other.lows[index], other.winners[index]);
+        }
+    }
+
+    // writes the memo as a tablebase file
+    public void write(Path path) throws IOException {
+        long[] packedHighs = new long[size];
+        long[] packedLows = new long[size];
+        byte[] packedWinners = new byte[size];
+        int count = 0;
+        for (int index = 0; index < highs.length; index++) {
+            if (highs[index] == 0) continue;
+            packedHighs[count] = highs[index];
+            packedLows[count] = lows[index];
+            packedWinners[count++] = winners[index];
+        }
+        EndgameTablebase.write(path, packedHighs, packedLows, packedWinners, count);
+    }
+}
@@ -0,0 +1,152 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.GamePhase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Solved final-round positions on disk, read through a memory mapping like DecisionTable.
+// A position is keyed exactly by where each of the 17 cards is (5 bits per card: first or second
+// trophy, or the jest, hand, face-up or face-down offer card of a seat) plus the seat count,
+// phase, current seat and the seats that played; that is 93 bits in two longs. The value is the
+// EndgameSolver result: the mask of the seats that win the game. File layout, big-endian:
+//   int MAGIC | int VERSION | int capacity bits | int count
+//   | capacity x (long high, long low) | capacity x byte winners
+// Keys always have bit 63 of the high long set, so an empty entry is 0.
+public class EndgameTablebase {
+    private static final int MAGIC = 0x4A454E44; // "JEND"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int KEY_BYTES = 2 * Long.BYTES;
+    public static final int NO_ENTRY = -1;
+
+    private static final int FIRST_TROPHY = 0;
+    private static final int SECOND_TROPHY = 1;
+    private static final int JEST = 2;
+    private static final int HAND = 6;
+    private static final int FACE_UP = 10;
+    private static final int FACE_DOWN = 14;
+    private static final int CARDS_IN_LOW = 12;
+
+    private final MappedByteBuffer buffer;
+    private final int mask;
+    private final int count;
+    private final int winnersOffset;
+
+    private EndgameTablebase(MappedByteBuffer buffer, int bits, int count) {
+        this.buffer = buffer;
+        this.mask = (1 << bits) - 1;
+        this.count = count;
+        this.winnersOffset = HEADER_BYTES + (mask + 1) * KEY_BYTES;
+    }
+
+    public static EndgameTablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a Jest endgame tablebase: " + path);
+            }
+            int bits = buffer.getInt(8);
+            if (bits < 1 || bits > 26 || channel.size() != HEADER_BYTES + ((long) (KEY_BYTES + 1) << bits)) {
+                throw new IOException("Truncated or corrupt endgame tablebase: " + path);
+            }
+            return new EndgameTablebase(buffer, bits, buffer.getInt(12));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // exact key of a final-round position, written to key[0] (high) and key[1] (low)
+    public static void key(GameSnapshot s, long[] key) {
+        long low = 0;
+        long high = 0;
+        for (int card = 0; card < CARDS_IN_LOW; card++) {
+            low |= (long) locate(s, card) << (card * 5);
+        }
+        for (int card = CARDS_IN_LOW; card < CardSet.CARD_COUNT; card++) {
+            high |= (long) locate(s, card) << ((card - CARDS_IN_LOW) * 5);
+        }
+        high |= (long) (s.getSeatCount() - 3) << 25;
+        high |= (long) (s.getPhase() == GamePhase.OFFER ? 0 : 1) << 26;
+        high |= (long) s.getCurrentSeat() << 27;
+        high |= (long) s.getPlayedMask() << 29;
+        key[0] = high | 1L << 63;
+        key[1] = low;
+    }
+
+    private static int locate(GameSnapshot s, int card) {
+        int bit = 1 << card;
+        for (int seat = 0; seat < s.getSeatCount(); seat++) {
+            if ((s.getJest(seat) & bit) != 0) return JEST + seat;
+            if ((s.getHandMask(seat) & bit) != 0) return HAND + seat;
+            if (s.getOfferUp(seat) == card) return FACE_UP + seat;
+            if (s.getOfferDown(seat) == card) return FACE_DOWN + seat;
+        }
+        return s.getTrophy(0) == card ? FIRST_TROPHY : SECOND_TROPHY;
+    }
+
+    // winners mask of the position, NO_ENTRY if it is not in the tablebase
+    public int lookUp(long high, long low) {
+        int index = index(high, low, mask);
+        for (int probe = 0; probe <= mask; probe++) {
+            int offset = HEADER_BYTES + index * KEY_BYTES;
+            long current = buffer.getLong(offset);
+            if (current == 0) return NO_ENTRY;
+            if (current == high && buffer.getLong(offset + Long.BYTES) == low) {
+                return buffer.get(winnersOffset + index);
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_ENTRY;
+    }
+
+    static int index(long high, long low, int mask) {
+        return (int) RegretTable.mix(high * 31 + RegretTable.mix(low)) & mask;
+    }
+
+    // writes count positions (distinct keys) with their winners masks, at most half full
+    public static void write(Path path, long[] highs, long[] lows, byte[] winners, int count) throws IOException {
+        int bits = 1;
+        while ((1 << bits) < count * 2) {
+            bits++;
+        }
+        int mask = (1 << bits) - 1;
+        long[] tableHighs = new long[mask + 1];
+        long[] tableLows = new long[mask + 1];
+        byte[] tableWinners = new byte[mask + 1];
+        for (int i = 0; i < count; i++) {
+            int index = index(highs[i], lows[i], mask);
+            while (tableHighs[index] != 0) {
+                if (tableHighs[index] == highs[i] && tableLows[index] == lows[i]) {
+                    throw new IllegalArgumentException("Duplicate position " + Long.toHexString(highs[i])
+                            + Long.toHexString(lows[i]));
+                }
+                index = (index + 1) & mask;
+            }
+            tableHighs[index] = highs[i];
+            tableLows[index] = lows[i];
+            tableWinners[index] = winners[i];
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + (mask + 1) * (KEY_BYTES + 1));
+        out.putInt(MAGIC).putInt(VERSION).putInt(bits).putInt(count);
+        for (int index = 0; index <= mask; index++) {
+            out.putLong(tableHighs[index]).putLong(tableLows[index]);
+        }
+        out.put(tableWinners);
+        out.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package model.search;
+
+import model.game.GameAction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Builds an EndgameTablebase from seeded games: game i (seed + i) is played with random legal
+// actions up to its final round, then every deal of the hands over the seats is solved and the
+// offer-phase positions met on the way are kept. Every final round cannot be enumerated (3 players
+// alone have about 2 * 10^11 starting positions), so the tablebase covers the jests and trophies
+// these games reach and EndgameSolver solves anything else when it is met.
+public class EndgameTablebaseGenerator {
+    private final int threads;
+    private final EndgameSolver merged = new EndgameSolver(null);
+
+    public EndgameTablebaseGenerator(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Generating needs at least one thread.");
+        }
+        this.threads = threads;
+    }
+
+    public void play(long games, long seed, int seatCount) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<EndgameSolver>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long from = games * t / threads;
+                long to = games * (t + 1) / threads;
+                futures.add(executor.submit(() -> solveRange(from, to, seed, seatCount)));
+            }
+            for (Future<EndgameSolver> future : futures) {
+                merged.putAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generation thread failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public int size() {
+        return merged.size();
+    }
+
+    public void write(Path path) throws IOException {
+        merged.write(path);
+    }
+
+    private static EndgameSolver solveRange(long from, long to, long seed, int seatCount) {
+        EndgameSolver solver = new EndgameSolver(null);
+        GameSnapshot state = new GameSnapshot();
+        GameAction[] legal = new GameAction[GameAction.COUNT];
+        for (long i = from; i < to; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            state.newGame(seatCount, random);
+            while (!state.isFinalRound()) {
+                int count = state.getLegalActions(legal);
+                state.apply(legal[random.nextInt(count)]);
+            }
+            solver.solveAllDeals(state);
+        }
+        return solver;
+    }
+}
@@ -0,0 +1,230 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.players.ScoreBounds;
+
+// Exact expectimax for one observer, the seat to move at the root: the value of a position is
+// the observer's expected share of the win. The observer maximizes; everything else is chance.
+//   - Hidden cards (other hands, face-down cards, jest cards other seats took face down, deck) are
+//     revealed one at a time, when an action makes them public: a face-up card offered by another
+//     seat, a face-down card the observer takes, a card dealt to the observer, and all of them
+//     before the game-ending choice. Every placement of
+//     the hidden cards is equally likely, so a reveal is uniform over the cards still hidden and
+//     is played with GameSnapshot.exchangeCards().
+//   - The other seats play uniformly at random, like the ISMCTS playouts, so their actions are
+//     chance nodes too and tell nothing about their hidden cards.
+// Chance nodes are pruned Star1-style against the window of the observer's choices above them,
+// and a position is decided without search once ScoreBounds show that the observer's lowest score
+// beats every other seat's highest (1) or its highest loses to another seat's lowest (0).
+// Values are cached in a TranspositionTable under the Zobrist hash of the position and of what the
+// observer cannot see, so transposed move orders and the next decisions of the same game reuse
+// them; the table keeps floats, so values are exact to about 1e-7.
+// A search that needs more than the node budget gives up.
+public class ExpectimaxSolver {
+    private static final int DEFAULT_TABLE_BITS = 18;
+
+    private final long nodeBudget;
+    private final TranspositionTable table;
+    private final GameSnapshot state = new GameSnapshot();
+    private final GameAction[][] legal = new GameAction[IsmctsSearch.MAX_DEPTH][GameAction.COUNT];
+    private int observer;
+    private long nodes;
+    private boolean exhausted;
+
+    public ExpectimaxSolver(long nodeBudget) {
+        this(nodeBudget, new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    // the table may be shared with other solvers, on any threads
+    public ExpectimaxSolver(long nodeBudget, TranspositionTable table) {
+        if (nodeBudget < 1) {
+            throw new IllegalArgumentException("A solver needs a node budget of at least 1.");
+        }
+        this.nodeBudget = nodeBudget;
+        this.table = table;
+    }
+
+    // fills values[i] with the expected share of the win of actions[i] for the seat to move;
+    // false if the node budget ran out, the values are then meaningless
+    public boolean evaluate(GameSnapshot root, GameAction[] actions, int count, double[] values) {
+        if (root.isFinished()) {
+            throw new IllegalStateException("The game is over.");
+        }
+        state.copyFrom(root);
+        observer = root.getCurrentSeat();
+        nodes = 0;
+        exhausted = false;
+        table.newGeneration();
+        int hidden = root.getHiddenMask(observer);
+        for (int i = 0; i < count && !exhausted; i++) {
+            values[i] = act(actions[i], hidden, 0, 0, 1);
+        }
+        return !exhausted;
+    }
+
+    public long getLastNodes() {
+        return nodes;
+    }
+
+    // expected share from the current state, the observer or another seat to move
+    private double value(int hidden, int depth, double alpha, double beta) {
+        if (++nodes > nodeBudget) {
+            exhausted = true;
+        }
+        if (exhausted) return 0;
+        if (state.isFinished()) return share();
+        double decided = decided(hidden);
+        if (decided >= 0) return decided;
+
+        long key = state.getHash() ^ Zobrist.view(observer, hidden);
+        long data = table.probe(key);
+        if (data != TranspositionTable.MISS) {
+            double cached = TranspositionTable.value(data);
+            int bound = TranspositionTable.bound(data);
+            if (bound == TranspositionTable.EXACT
+                    || bound == TranspositionTable.LOWER && cached >= beta
+                    || bound == TranspositionTable.UPPER && cached <= alpha) {
+                return cached;
+            }
+        }
+        long start = nodes;
+        double v = search(hidden, depth, alpha, beta);
+        if (!exhausted) {
+            int bound = v <= alpha ? TranspositionTable.UPPER : v >= beta ? TranspositionTable.LOWER
+                    : TranspositionTable.EXACT;
+            table.store(key, (float) v, bound, nodes - start);
+        }
+        return v;
+    }
+
+    private double search(int hidden, int depth, double alpha, double beta) {
+        GameAction[] actions = legal[depth];
+        int count = state.getLegalActions(actions);
+        if (state.getCurrentSeat() == observer) {
+            double best = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double v = act(actions[i], hidden, depth, Math.max(alpha, best), beta);
+                if (v > best) best = v;
+                if (best >= beta) break;
+            }
+            return best;
+        }
+
+        // a uniform chance node over the other seat's actions; values lie in [0, 1]
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            int after = count - i - 1;
+            sum += act(actions[i], hidden, depth, alpha * count - sum - after, beta * count - sum);
+            if (sum + after <= alpha * count) return (sum + after) / count;
+            if (sum >= beta * count) return sum / count;
+        }
+        return sum / count;
+    }
+
+    // plays the action, revealing first the hidden card it makes public
+    private double act(GameAction action, int hidden, int depth, double alpha, double beta) {
+        int revealed = revealedBy(action, hidden);
+        if (revealed != GameSnapshot.NONE) {
+            return reveal(revealed, action, hidden, depth, alpha, beta);
+        }
+        state.make(action);
+        double v = afterMove(hidden, depth + 1, alpha, beta);
+        state.unmake();
+        return v;
+    }
+
+    // the observer sees its hand: hidden cards dealt to it are revealed before anything else
+    private double afterMove(int hidden, int depth, double alpha, double beta) {
+        int dealt = state.getHandMask(observer) & hidden;
+        if (dealt == 0) {
+            return value(hidden, depth, alpha, beta);
+        }
+        return reveal(CardSet.first(dealt), null, hidden, depth, alpha, beta);
+    }
+
+    // a uniform chance node over the card that ends up where `slotCard` lies, then the action
+    // (or, with no action, the rest of the move)
+    private double reveal(int slotCard, GameAction action, int hidden, int depth, double alpha, double beta) {
+        int count = Integer.bitCount(hidden);
+        double sum = 0;
+        int i = 0;
+        for (int rest = hidden; rest != 0; rest &= rest - 1, i++) {
+            int card = Integer.numberOfTrailingZeros(rest);
+            int after = count - i - 1;
+            double childAlpha = alpha * count - sum - after;
+            double childBeta = beta * count - sum;
+            state.exchangeCards(slotCard, card);
+            int left = hidden & ~(1 << card);
+            sum += action != null
+                    ? act(action, left, depth, childAlpha, childBeta)
+                    : afterMove(left, depth, childAlpha, childBeta);
+            state.exchangeCards(slotCard, card);
+            if (sum + after <= alpha * count) return (sum + after) / count;
+            if (sum >= beta * count) return sum / count;
+        }
+        return sum / count;
+    }
+
+    // the hidden card the action makes public, NONE if it shows nothing new
+    private int revealedBy(GameAction action, int hidden) {
+        if (hidden == 0) return GameSnapshot.NONE;
+        int seat = state.getCurrentSeat();
+        if (action.getType() == GameAction.Type.OFFER) {
+            if (seat == observer) return GameSnapshot.NONE;
+            int faceUp = state.getHandCard(seat, action.getFaceUpIndex());
+            return (hidden & (1 << faceUp)) != 0 ? faceUp : GameSnapshot.NONE;
+        }
+        boolean lastChoice = state.isFinalRound() && state.getPhase() == GamePhase.CHOOSE
+                && Integer.bitCount(state.getPlayedMask()) == state.getSeatCount() - 1;
+        if (lastChoice) {
+            // the game ends with this choice: every card is shown
+            return CardSet.first(hidden);
+        }
+        // a face-down card another seat takes stays hidden in its jest
+        if (action.isFaceUp() || seat != observer) return GameSnapshot.NONE;
+        int faceDown = state.getOfferDown(action.getOfferSeat());
+        return (hidden & (1 << faceDown)) != 0 ? faceDown : GameSnapshot.NONE;
+    }
+
+    // 1 or 0 when the score bounds settle the game for the observer, -1 otherwise; the hidden jest
+    // cards of the other seats still hold a placeholder, so only their shown cards are counted
+    private double decided(int hidden) {
+        int seats = state.getSeatCount();
+        int jests = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            jests |= state.getJest(seat) & ~hidden;
+        }
+        int observerJest = state.getJest(observer);
+        int observerLow = ScoreBounds.lower(observerJest, CardSet.FULL & ~(jests & ~observerJest));
+        int observerHigh = ScoreBounds.upper(observerJest, CardSet.FULL & ~(jests & ~observerJest));
+        int othersLow = Integer.MIN_VALUE;
+        int othersHigh = Integer.MIN_VALUE;
+        for (int seat = 0; seat < seats; seat++) {
+            if (seat == observer) continue;
+            int jest = state.getJest(seat) & ~hidden;
+            int available = CardSet.FULL & ~(jests & ~jest);
+            othersLow = Math.max(othersLow, ScoreBounds.lower(jest, available));
+            othersHigh = Math.max(othersHigh, ScoreBounds.upper(jest, available));
+        }
+        if (observerLow > othersHigh) return 1;
+        if (observerHigh < othersLow) return 0;
+        return -1;
+    }
+
+    private double share() {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int seat = 0; seat < state.getSeatCount(); seat++) {
+            int score = state.getScore(seat);
+            if (score > best) {
+                best = score;
+                winners = 1;
+            } else if (score == best) {
+                winners++;
+            }
+        }
+        return state.getScore(observer) == best ? 1.0 / winners : 0;
+    }
+}
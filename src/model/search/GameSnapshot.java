@@ -0,0 +1,683 @@
+package model.search;
+
+import model.cards.Card;
+import model.cards.CardSet;
+import model.cards.Cards;
+import model.cards.TrophyRule;
+import model.game.Game;
+import model.game.GameAction;
+import model.game.GamePhase;
+import model.game.GameRandom;
+import model.game.GameStateMachine;
+import model.game.Round;
+import model.game.TrophyIndex;
+import model.players.Offer;
+import model.players.Player;
+import model.players.ScoreTable;
+import model.players.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// The whole state of a game as card indices and CardSet masks, detached from the live model.
+// It follows the same rules as GameStateMachine: make() plays an action (dealing the next round
+// or settling trophies and scores when the action ends a round), unmake() takes it back.
+// Cards are CardSet indices, NONE marks an empty slot. The deck keeps its order, so a snapshot
+// captured from a live game replays it exactly; search code replaces the unseen cards first.
+public class GameSnapshot {
+    public static final int NONE = -1;
+    private static final int MAX_TROPHIES = 2;
+
+    // face value first, suit strength breaks ties, like Round ranks the face-up cards
+    private static final int[] FACE_UP_RANK = new int[CardSet.CARD_COUNT];
+
+    static {
+        for (int index = 0; index < CardSet.CARD_COUNT; index++) {
+            Card card = Cards.get(index);
+            FACE_UP_RANK[index] = card.getFaceValue() * 8 + card.getSuitValue();
+        }
+    }
+
+    private int seatCount;
+    // hand cards in the order they were dealt, GameAction.offer(i) turns hand card i face up
+    private final int[] handFirst = new int[Game.MAX_SEATS];
+    private final int[] handSecond = new int[Game.MAX_SEATS];
+    private final int[] offerUp = new int[Game.MAX_SEATS];
+    private final int[] offerDown = new int[Game.MAX_SEATS];
+    private final int[] jests = new int[Game.MAX_SEATS];
+    // jest cards taken face down (and face-down leftovers of the last round): only their owner saw them
+    private final int[] hiddenJests = new int[Game.MAX_SEATS];
+    // deck[0] is the bottom, deck[deckSize - 1] the next card dealt
+    private final int[] deck = new int[CardSet.CARD_COUNT];
+    private int deckSize;
+    private int deckMask;
+    private final int[] trophies = new int[MAX_TROPHIES];
+    private final int[] trophyWinners = new int[MAX_TROPHIES];
+    private int trophyCount;
+    private int trophyMask;
+    private GamePhase phase;
+    private int currentSeat;
+    private int playedMask;
+    private int roundNumber;
+    // Zobrist hash of the position, kept up to date by every move
+    private long hash;
+
+    // undo stack of make(), not part of the state and never copied
+    private GameSnapshot[] history;
+    private int ply;
+    private TrophyIndex trophyIndex;
+
+    public GameSnapshot() {
+        this.phase = GamePhase.FINISHED;
+    }
+
+    // reads the live game driven by the machine; hidden cards are read too, as they really are
+    public void capture(GameStateMachine machine) {
+        capture(machine.getGame(), machine.getPhase(), machine.getCurrentSeat());
+    }
+
+    // same from the model alone, for drivers that do not use a GameStateMachine (controllers)
+    public void capture(Game game, GamePhase phase, int currentSeat) {
+        ArrayList<Player> players = game.getPlayers();
+        Round round = game.getRoundCounter() == 0 ? null : game.getRound();
+        seatCount = players.size();
+        for (int seat = 0; seat < Game.MAX_SEATS; seat++) {
+            handFirst[seat] = NONE;
+            handSecond[seat] = NONE;
+            offerUp[seat] = NONE;
+            offerDown[seat] = NONE;
+            jests[seat] = CardSet.EMPTY;
+            hiddenJests[seat] = CardSet.EMPTY;
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            Player player = players.get(seat);
+            ArrayList<Card> hand = player.getHand();
+            if (hand.size() > 0) handFirst[seat] = hand.get(0).getIndex();
+            if (hand.size() > 1) handSecond[seat] = hand.get(1).getIndex();
+            Offer offer = round == null ? null : round.getOffer(seat);
+            if (offer != null) {
+                offerUp[seat] = indexOf(offer.getFaceUpCard());
+                offerDown[seat] = indexOf(offer.getFaceDownCard());
+            }
+            jests[seat] = player.getJest().getMask();
+            hiddenJests[seat] = player.getJest().getHiddenMask();
+        }
+
+        deckSize = game.getDeck().getRemainingCount();
+        for (int position = 0; position < deckSize; position++) {
+            deck[position] = game.getDeck().getCard(position).getIndex();
+        }
+        deckMask = game.getDeck().getMask();
+
+        ArrayList<Card> trophyCards = game.getTrophies();
+        trophyCount = trophyCards.size();
+        ArrayList<Player> winners = game.getTrophyWinners();
+        for (int i = 0; i < trophyCount; i++) {
+            trophies[i] = trophyCards.get(i).getIndex();
+            boolean assigned = phase == GamePhase.FINISHED && i < winners.size() && winners.get(i) != null;
+            trophyWinners[i] = assigned ? players.indexOf(winners.get(i)) : NONE;
+        }
+        trophyMask = game.getTrophyMask();
+
+        this.phase = phase;
+        this.currentSeat = currentSeat;
+        playedMask = round == null ? 0 : round.getPlayedMask();
+        roundNumber = game.getRoundCounter();
+        ply = 0;
+        hash = computeHash();
+    }
+
+    // a new game dealt exactly like Game and Deck do with the same generator: the 17 cards are
+    // shuffled, the trophies come off the top, then the first round is dealt
+    public void newGame(int seatCount, SplittableRandom deckRandom) {
+        if (seatCount < 3 || seatCount > Game.MAX_SEATS) {
+            throw new IllegalArgumentException("Jest supports 3 or 4 players only.");
+        }
+        this.seatCount = seatCount;
+        for (int index = 0; index < CardSet.CARD_COUNT; index++) {
+            deck[index] = index;
+        }
+        for (int i = CardSet.CARD_COUNT - 1; i > 0; i--) {
+            int j = deckRandom.nextInt(i + 1);
+            int card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+        deckSize = CardSet.CARD_COUNT;
+        deckMask = CardSet.FULL;
+
+        trophyCount = seatCount == 3 ? 2 : 1;
+        trophyMask = CardSet.EMPTY;
+        for (int i = 0; i < MAX_TROPHIES; i++) {
+            trophies[i] = NONE;
+            trophyWinners[i] = NONE;
+        }
+        for (int i = 0; i < trophyCount; i++) {
+            trophies[i] = popDeck();
+            trophyMask |= 1 << trophies[i];
+        }
+
+        for (int seat = 0; seat < Game.MAX_SEATS; seat++) {
+            handFirst[seat] = NONE;
+            handSecond[seat] = NONE;
+            offerUp[seat] = NONE;
+            offerDown[seat] = NONE;
+            jests[seat] = CardSet.EMPTY;
+            hiddenJests[seat] = CardSet.EMPTY;
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            handFirst[seat] = popDeck();
+            handSecond[seat] = popDeck();
+        }
+        phase = GamePhase.OFFER;
+        currentSeat = 0;
+        playedMask = 0;
+        roundNumber = 1;
+        ply = 0;
+        hash = computeHash();
+    }
+
+    // copies the state only, the copy starts with an empty undo stack
+    public void copyFrom(GameSnapshot other) {
+        seatCount = other.seatCount;
+        System.arraycopy(other.handFirst, 0, handFirst, 0, Game.MAX_SEATS);
+        System.arraycopy(other.handSecond, 0, handSecond, 0, Game.MAX_SEATS);
+        System.arraycopy(other.offerUp, 0, offerUp, 0, Game.MAX_SEATS);
+        System.arraycopy(other.offerDown, 0, offerDown, 0, Game.MAX_SEATS);
+        System.arraycopy(other.jests, 0, jests, 0, Game.MAX_SEATS);
+        System.arraycopy(other.hiddenJests, 0, hiddenJests, 0, Game.MAX_SEATS);
+        System.arraycopy(other.deck, 0, deck, 0, other.deckSize);
+        deckSize = other.deckSize;
+        deckMask = other.deckMask;
+        System.arraycopy(other.trophies, 0, trophies, 0, MAX_TROPHIES);
+        System.arraycopy(other.trophyWinners, 0, trophyWinners, 0, MAX_TROPHIES);
+        trophyCount = other.trophyCount;
+        trophyMask = other.trophyMask;
+        phase = other.phase;
+        currentSeat = other.currentSeat;
+        playedMask = other.playedMask;
+        roundNumber = other.roundNumber;
+        hash = other.hash;
+        ply = 0;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public GamePhase getPhase() {
+        return phase;
+    }
+
+    public boolean isFinished() {
+        return phase == GamePhase.FINISHED;
+    }
+
+    // the deck is empty: the offers of this round end the game
+    public boolean isFinalRound() {
+        return phase != GamePhase.FINISHED && deckSize == 0;
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getPlayedMask() {
+        return playedMask;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    // hand card i (0 or 1) of the seat, NONE once it made its offer
+    public int getHandCard(int seat, int i) {
+        return i == 0 ? handFirst[seat] : handSecond[seat];
+    }
+
+    public int getHandMask(int seat) {
+        return bitOf(handFirst[seat]) | bitOf(handSecond[seat]);
+    }
+
+    public int getOfferUp(int seat) {
+        return offerUp[seat];
+    }
+
+    public int getOfferDown(int seat) {
+        return offerDown[seat];
+    }
+
+    // bit i is set when seat i's offer still holds both cards
+    public int getCompleteOffersMask() {
+        int mask = 0;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (offerUp[seat] != NONE && offerDown[seat] != NONE) mask |= 1 << seat;
+        }
+        return mask;
+    }
+
+    public int getJest(int seat) {
+        return jests[seat];
+    }
+
+    // cards of the seat's jest the other seats did not see it take
+    public int getHiddenJest(int seat) {
+        return hiddenJests[seat];
+    }
+
+    // score of the jest as it is now, the final score once the game is finished
+    public int getScore(int seat) {
+        return ScoreTable.score(jests[seat]);
+    }
+
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    public int getDeckMask() {
+        return deckMask;
+    }
+
+    public int getDeckCard(int position) {
+        return deck[position];
+    }
+
+    public int getTrophyCount() {
+        return trophyCount;
+    }
+
+    public int getTrophy(int i) {
+        return trophies[i];
+    }
+
+    public int getTrophyMask() {
+        return trophyMask;
+    }
+
+    // seat that won trophy i, NONE if nobody did or the game is not finished
+    public int getTrophyWinner(int i) {
+        return trophyWinners[i];
+    }
+
+    // cards the observer cannot see: the other seats' hands, face-down offer cards and the jest
+    // cards they took face down, and the deck. Face-up cards and the rest of the jests are public.
+    public int getHiddenMask(int observer) {
+        int mask = deckMask;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == observer) continue;
+            mask |= getHandMask(seat) | bitOf(offerDown[seat]) | hiddenJests[seat];
+        }
+        return mask;
+    }
+
+    // deals cards into the slots behind getHiddenMask(observer), one card per slot in this order:
+    // the other seats' hand cards and face-down cards in seat order, then the deck from the bottom,
+    // then the other seats' hidden jest cards in seat order (a jest has no order, so neither do
+    // these slots). Search code calls it with a shuffled copy of the hidden cards to sample a
+    // determinization. With observer NONE only the hands, face-down cards and deck are dealt.
+    public void fillHidden(int observer, int[] cards) {
+        int next = 0;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == observer) continue;
+            if (handFirst[seat] != NONE) handFirst[seat] = cards[next++];
+            if (handSecond[seat] != NONE) handSecond[seat] = cards[next++];
+            if (offerDown[seat] != NONE) offerDown[seat] = cards[next++];
+        }
+        deckMask = CardSet.EMPTY;
+        for (int position = 0; position < deckSize; position++) {
+            deck[position] = cards[next++];
+            deckMask |= 1 << deck[position];
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (seat == observer || observer == NONE || hiddenJests[seat] == CardSet.EMPTY) continue;
+            int dealt = CardSet.EMPTY;
+            for (int i = Integer.bitCount(hiddenJests[seat]); i > 0; i--) {
+                dealt |= 1 << cards[next++];
+            }
+            jests[seat] = jests[seat] & ~hiddenJests[seat] | dealt;
+            hiddenJests[seat] = dealt;
+        }
+        hash = computeHash();
+    }
+
+    // swaps where two cards lie among the hands, face-down cards, jests and deck; calling it again
+    // undoes it. Exact solvers use it to reveal a hidden card: every placement of the hidden cards
+    // is equally likely to the observer, so any hidden card can be moved into the slot being revealed.
+    public void exchangeCards(int a, int b) {
+        if (a == b) return;
+        int locationA = locate(a);
+        int locationB = locate(b);
+        hash ^= Zobrist.card(a, locationA) ^ Zobrist.card(a, locationB)
+                ^ Zobrist.card(b, locationB) ^ Zobrist.card(b, locationA);
+        for (int seat = 0; seat < seatCount; seat++) {
+            handFirst[seat] = swapped(handFirst[seat], a, b);
+            handSecond[seat] = swapped(handSecond[seat], a, b);
+            offerDown[seat] = swapped(offerDown[seat], a, b);
+            jests[seat] = swappedBits(jests[seat], a, b);
+            hiddenJests[seat] = swappedBits(hiddenJests[seat], a, b);
+        }
+        for (int position = 0; position < deckSize; position++) {
+            deck[position] = swapped(deck[position], a, b);
+        }
+        deckMask = swappedBits(deckMask, a, b);
+    }
+
+    private static int swapped(int card, int a, int b) {
+        return card == a ? b : card == b ? a : card;
+    }
+
+    // the mask with bits a and b exchanged
+    private static int swappedBits(int mask, int a, int b) {
+        return ((mask >>> a ^ mask >>> b) & 1) != 0 ? mask ^ (1 << a | 1 << b) : mask;
+    }
+
+    // number of actions make() can take back
+    public int getPly() {
+        return ply;
+    }
+
+    // fills out with the legal actions of the current seat and returns how many there are
+    public int getLegalActions(GameAction[] out) {
+        if (phase == GamePhase.OFFER) {
+            out[0] = GameAction.offer(0);
+            out[1] = GameAction.offer(1);
+            return 2;
+        }
+        int count = 0;
+        if (phase == GamePhase.CHOOSE) {
+            for (int rest = choosableOffers(); rest != 0; rest &= rest - 1) {
+                int seat = Integer.numberOfTrailingZeros(rest);
+                out[count++] = GameAction.choose(seat, true);
+                out[count++] = GameAction.choose(seat, false);
+            }
+        }
+        return count;
+    }
+
+    public boolean isLegal(GameAction action) {
+        return switch (phase) {
+            case OFFER -> action.getType() == GameAction.Type.OFFER;
+            case CHOOSE -> action.getType() == GameAction.Type.CHOOSE
+                    && (choosableOffers() & (1 << action.getOfferSeat())) != 0;
+            case FINISHED -> false;
+        };
+    }
+
+    // complete offers of the other seats, or the current seat's own offer once no other is left
+    public int choosableOffers() {
+        int complete = getCompleteOffersMask();
+        int others = complete & ~(1 << currentSeat);
+        return others != 0 ? others : complete;
+    }
+
+    // plays the action so that unmake() can take it back
+    public void make(GameAction action) {
+        checkLegal(action);
+        pushHistory();
+        play(action);
+    }
+
+    // plays the action without recording it, for playouts that never go back
+    public void apply(GameAction action) {
+        checkLegal(action);
+        play(action);
+    }
+
+    private void checkLegal(GameAction action) {
+        if (!isLegal(action)) {
+            throw new IllegalArgumentException("Illegal action in phase " + phase + ": " + action);
+        }
+    }
+
+    private void play(GameAction action) {
+        hash ^= Zobrist.turn(phase, currentSeat, playedMask);
+        if (action.getType() == GameAction.Type.OFFER) {
+            makeOffer(action.getFaceUpIndex());
+        } else {
+            makeChoice(action.getOfferSeat(), action.isFaceUp());
+        }
+        hash ^= Zobrist.turn(phase, currentSeat, playedMask);
+    }
+
+    public void unmake() {
+        if (ply == 0) {
+            throw new IllegalStateException("No action to take back.");
+        }
+        int previous = ply - 1;
+        copyFrom(history[previous]);
+        ply = previous;
+    }
+
+    private void pushHistory() {
+        if (history == null) {
+            history = new GameSnapshot[32];
+        } else if (ply == history.length) {
+            history = Arrays.copyOf(history, ply * 2);
+        }
+        if (history[ply] == null) {
+            history[ply] = new GameSnapshot();
+        }
+        history[ply++].copyFrom(this);
+    }
+
+    private void makeOffer(int faceUpIndex) {
+        int seat = currentSeat;
+        offerUp[seat] = faceUpIndex == 0 ? handFirst[seat] : handSecond[seat];
+        offerDown[seat] = faceUpIndex == 0 ? handSecond[seat] : handFirst[seat];
+        hash ^= Zobrist.card(offerUp[seat], Zobrist.HAND + seat) ^ Zobrist.card(offerUp[seat], Zobrist.FACE_UP + seat)
+                ^ Zobrist.card(offerDown[seat], Zobrist.HAND + seat) ^ Zobrist.card(offerDown[seat], Zobrist.FACE_DOWN + seat);
+        handFirst[seat] = NONE;
+        handSecond[seat] = NONE;
+        if (++currentSeat == seatCount) {
+            phase = GamePhase.CHOOSE;
+            currentSeat = bestFaceUpSeat(0);
+            if (currentSeat == NONE) currentSeat = 0;
+        }
+    }
+
+    private void makeChoice(int offerSeat, boolean faceUp) {
+        if (faceUp) {
+            moveToJest(offerUp[offerSeat], Zobrist.FACE_UP + offerSeat, currentSeat);
+            offerUp[offerSeat] = NONE;
+        } else {
+            moveToJest(offerDown[offerSeat], Zobrist.FACE_DOWN + offerSeat, currentSeat);
+            hiddenJests[currentSeat] |= 1 << offerDown[offerSeat];
+            offerDown[offerSeat] = NONE;
+        }
+        playedMask |= 1 << currentSeat;
+        if (Integer.bitCount(playedMask) < seatCount) {
+            currentSeat = nextSeat(offerSeat);
+        } else {
+            endRound();
+        }
+    }
+
+    // the owner of the taken offer plays next, unless it already played this round
+    private int nextSeat(int offerSeat) {
+        if ((playedMask & (1 << offerSeat)) == 0) {
+            return offerSeat;
+        }
+        int best = bestFaceUpSeat(playedMask);
+        return best != NONE ? best : Integer.numberOfTrailingZeros(~playedMask);
+    }
+
+    private int bestFaceUpSeat(int excludedMask) {
+        int best = NONE;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if ((excludedMask & (1 << seat)) != 0 || offerUp[seat] == NONE) continue;
+            if (best == NONE || FACE_UP_RANK[offerUp[seat]] > FACE_UP_RANK[offerUp[best]]) best = seat;
+        }
+        return best;
+    }
+
+    private void endRound() {
+        if (deckSize > 0) {
+            // leftovers go back on top of the deck in seat order, then the next round is dealt
+            for (int seat = 0; seat < seatCount; seat++) {
+                if (offerUp[seat] != NONE) hash ^= Zobrist.card(offerUp[seat], Zobrist.FACE_UP + seat);
+                if (offerDown[seat] != NONE) hash ^= Zobrist.card(offerDown[seat], Zobrist.FACE_DOWN + seat);
+                pushDeck(offerUp[seat]);
+                pushDeck(offerDown[seat]);
+                offerUp[seat] = NONE;
+                offerDown[seat] = NONE;
+            }
+            for (int seat = 0; seat < seatCount; seat++) {
+                handFirst[seat] = popDeck();
+                handSecond[seat] = popDeck();
+                hash ^= Zobrist.card(handFirst[seat], Zobrist.HAND + seat)
+                        ^ Zobrist.card(handSecond[seat], Zobrist.HAND + seat);
+            }
+            roundNumber++;
+            playedMask = 0;
+            currentSeat = 0;
+            phase = GamePhase.OFFER;
+            return;
+        }
+
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (offerUp[seat] != NONE) moveToJest(offerUp[seat], Zobrist.FACE_UP + seat, seat);
+            if (offerDown[seat] != NONE) {
+                moveToJest(offerDown[seat], Zobrist.FACE_DOWN + seat, seat);
+                hiddenJests[seat] |= 1 << offerDown[seat];
+            }
+            offerUp[seat] = NONE;
+            offerDown[seat] = NONE;
+        }
+        if (trophyIndex == null) {
+            trophyIndex = new TrophyIndex();
+        }
+        trophyIndex.build(jests, seatCount);
+        for (int i = 0; i < trophyCount; i++) {
+            TrophyRule rule = TrophyRule.of(trophies[i]);
+            int seat = trophyIndex.resolve(rule.getType(), rule.getSuit(), rule.getFace());
+            trophyWinners[i] = seat;
+            if (seat >= 0) {
+                moveToJest(trophies[i], Zobrist.TROPHY + i, seat);
+                trophyIndex.update(seat, jests[seat]);
+            }
+        }
+        phase = GamePhase.FINISHED;
+    }
+
+    private void moveToJest(int card, int from, int seat) {
+        jests[seat] |= 1 << card;
+        hash ^= Zobrist.card(card, from) ^ Zobrist.card(card, Zobrist.JEST + seat);
+    }
+
+    private void pushDeck(int card) {
+        if (card == NONE) return;
+        hash ^= Zobrist.card(card, Zobrist.DECK + deckSize);
+        deck[deckSize++] = card;
+        deckMask |= 1 << card;
+    }
+
+    private int popDeck() {
+        int card = deck[--deckSize];
+        deckMask &= ~(1 << card);
+        hash ^= Zobrist.card(card, Zobrist.DECK + deckSize);
+        return card;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    // the hash from scratch, for positions set up other than by moves
+    public long computeHash() {
+        long key = Zobrist.turn(phase, currentSeat, playedMask);
+        for (int card = 0; card < CardSet.CARD_COUNT; card++) {
+            int location = locate(card);
+            if (location != NONE) key ^= Zobrist.card(card, location);
+        }
+        return key;
+    }
+
+    // Zobrist location of a card, NONE if it is nowhere (a trophy of a game without it)
+    private int locate(int card) {
+        int bit = 1 << card;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if ((jests[seat] & bit) != 0) return Zobrist.JEST + seat;
+            if (handFirst[seat] == card || handSecond[seat] == card) return Zobrist.HAND + seat;
+            if (offerUp[seat] == card) return Zobrist.FACE_UP + seat;
+            if (offerDown[seat] == card) return Zobrist.FACE_DOWN + seat;
+        }
+        for (int i = 0; i < trophyCount; i++) {
+            if (trophies[i] == card) return Zobrist.TROPHY + i;
+        }
+        for (int position = 0; position < deckSize; position++) {
+            if (deck[position] == card) return Zobrist.DECK + position;
+        }
+        return NONE;
+    }
+
+    // same position, undo stack aside
+    public boolean sameState(GameSnapshot other) {
+        if (seatCount != other.seatCount || deckSize != other.deckSize || deckMask != other.deckMask
+                || trophyCount != other.trophyCount || trophyMask != other.trophyMask || phase != other.phase
+                || currentSeat != other.currentSeat || playedMask != other.playedMask
+                || roundNumber != other.roundNumber) {
+            return false;
+        }
+        for (int seat = 0; seat < Game.MAX_SEATS; seat++) {
+            if (handFirst[seat] != other.handFirst[seat] || handSecond[seat] != other.handSecond[seat]
+                    || offerUp[seat] != other.offerUp[seat] || offerDown[seat] != other.offerDown[seat]
+                    || jests[seat] != other.jests[seat] || hiddenJests[seat] != other.hiddenJests[seat]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < trophyCount; i++) {
+            if (trophies[i] != other.trophies[i] || trophyWinners[i] != other.trophyWinners[i]) return false;
+        }
+        return Arrays.equals(deck, 0, deckSize, other.deck, 0, other.deckSize);
+    }
+
+    private static int bitOf(int card) {
+        return card == NONE ? CardSet.EMPTY : 1 << card;
+    }
+
+    private static int indexOf(Card card) {
+        return card == null ? NONE : card.getIndex();
+    }
+
+    // functions test: mirrors seeded bot games action by action and takes every action back
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        StrategyType[] types = {StrategyType.RANDOM, StrategyType.AGGRESSIVE,
+                StrategyType.CAUTIOUS};
+        int mismatches = 0;
+        GameSnapshot mirror = new GameSnapshot();
+        GameSnapshot live = new GameSnapshot();
+        GameSnapshot start = new GameSnapshot();
+        for (int players = 3; players <= 4; players++) {
+            Game game = new Game(0);
+            for (int seat = 0; seat < players; seat++) {
+                game.addVirtualPlayer("Bot " + (seat + 1), types[seat % types.length]);
+            }
+            GameStateMachine machine = new GameStateMachine(game);
+            for (long seed = 0; seed < games; seed++) {
+                game.reset(seed);
+                machine.start();
+                mirror.capture(machine);
+                start.newGame(players, new GameRandom(seed).getDeckRandom());
+                if (!mirror.sameState(start)) mismatches++;
+                start.copyFrom(mirror);
+                while (!machine.isFinished()) {
+                    GameAction action = machine.decide();
+                    machine.apply(action);
+                    mirror.make(action);
+                    live.capture(machine);
+                    if (!mirror.sameState(live) || mirror.getHash() != live.getHash()) {
+                        mismatches++;
+                        break;
+                    }
+                }
+                while (mirror.getPly() > 0) {
+                    mirror.unmake();
+                }
+                if (!mirror.sameState(start) || mirror.getHash() != start.getHash()) mismatches++;
+            }
+        }
+        System.out.println("Mismatches: " + mismatches);
+    }
+}
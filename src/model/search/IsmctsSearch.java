@@ -0,0 +1,206 @@
+package model.search;
+
+import model.game.Game;
+import model.game.GameAction;
+
+import java.util.SplittableRandom;
+
+// Single-observer information set Monte Carlo tree search over GameSnapshot.
+// Each iteration samples the cards the observer cannot see with a DeterminizationSampler, walks
+// one shared tree choosing among the actions legal in that sample (UCB with availability counts),
+// adds one node and plays the game out with random moves. The playout is scored by the snapshot,
+// so scores and trophies follow the real rules. Every edge keeps the reward of the seat that took
+// it: a max^n tree.
+// The tree lives in flat arrays indexed by node * GameAction.COUNT + action id and is reused by
+// every search, so a search allocates nothing once the arrays exist.
+public class IsmctsSearch implements ActionSearch {
+    private static final int ACTIONS = GameAction.COUNT;
+    static final int MAX_DEPTH = 64;
+    // nodes of a search bounded by time only
+    private static final int UNBOUNDED_NODES = 1 << 16;
+    static final double EXPLORATION = 0.7;
+
+    private final int maxIterations;
+    private final long timeBudgetNanos;
+    private final int maxNodes;
+
+    // node 0 is the root, a child of 0 means "not expanded yet"
+    private final int[] child;
+    private final int[] visits;
+    private final int[] available;
+    private final double[] reward;
+    private int nodeCount;
+
+    private final GameSnapshot work = new GameSnapshot();
+    private final GameAction[] legal = new GameAction[ACTIONS];
+    private final DeterminizationSampler sampler = new DeterminizationSampler();
+    private final int[] pathEdge = new int[MAX_DEPTH];
+    private final int[] pathSeat = new int[MAX_DEPTH];
+    private final double[] rewards = new double[Game.MAX_SEATS];
+    private int lastIterations;
+
+    // maxIterations <= 0 means no iteration limit, timeBudgetNanos <= 0 no time limit; not both
+    public IsmctsSearch(int maxIterations, long timeBudgetNanos) {
+        if (maxIterations <= 0 && timeBudgetNanos <= 0) {
+            throw new IllegalArgumentException("A search needs an iteration or a time budget.");
+        }
+        this.maxIterations = maxIterations > 0 ? maxIterations : Integer.MAX_VALUE;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.maxNodes = maxIterations > 0 ? Math.min(maxIterations, UNBOUNDED_NODES) + 1 : UNBOUNDED_NODES + 1;
+        this.child = new int[maxNodes * ACTIONS];
+        this.visits = new int[maxNodes * ACTIONS];
+        this.available = new int[maxNodes * ACTIONS];
+        this.reward = new double[maxNodes * ACTIONS];
+    }
+
+    @Override
+    public GameAction search(GameSnapshot root, SplittableRandom random) {
+        if (root.isFinished()) {
+            throw new IllegalStateException("The game is over.");
+        }
+        clearTree();
+        sampler.prepare(root, root.getCurrentSeat());
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            // the clock is cheap but not free, look at it every few iterations
+            if ((iterations & 63) == 0 && iterations > 0 && System.nanoTime() >= deadline) break;
+            sampler.sample(random, work);
+            iterate(random);
+            iterations++;
+        }
+        lastIterations = iterations;
+        return mostVisited(root);
+    }
+
+    @Override
+    public int getRootVisits(GameAction action) {
+        return visits[action.getId()];
+    }
+
+    @Override
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    @Override
+    public DeterminizationSampler getSampler() {
+        return sampler;
+    }
+
+    private void clearTree() {
+        // only the root has to be clean, every other node is cleared when it is created
+        clearNode(0);
+        nodeCount = 1;
+    }
+
+    private void clearNode(int node) {
+        int base = node * ACTIONS;
+        for (int a = base; a < base + ACTIONS; a++) {
+            child[a] = 0;
+            visits[a] = 0;
+            available[a] = 0;
+            reward[a] = 0;
+        }
+    }
+
+    private void iterate(SplittableRandom random) {
+        int node = 0;
+        int depth = 0;
+        boolean inTree = true;
+        while (inTree && !work.isFinished()) {
+            int count = work.getLegalActions(legal);
+            int base = node * ACTIONS;
+            int untried = 0;
+            for (int i = 0; i < count; i++) {
+                int edge = base + legal[i].getId();
+                available[edge]++;
+                if (child[edge] == 0) untried++;
+            }
+
+            int edge;
+            if (untried > 0 && nodeCount < maxNodes) {
+                // expansion: one untried action, then leave the tree
+                int pick = random.nextInt(untried);
+                edge = -1;
+                for (int i = 0; i < count; i++) {
+                    int candidate = base + legal[i].getId();
+                    if (child[candidate] == 0 && pick-- == 0) {
+                        edge = candidate;
+                        break;
+                    }
+                }
+                clearNode(nodeCount);
+                child[edge] = nodeCount++;
+                inTree = false;
+            } else if (untried == count) {
+                // the node pool is full and nothing here was tried: play out from here
+                break;
+            } else {
+                edge = selectUcb(base, count);
+            }
+
+            pathEdge[depth] = edge;
+            pathSeat[depth] = work.getCurrentSeat();
+            depth++;
+            work.apply(GameAction.of(edge - base));
+            node = child[edge];
+        }
+
+        while (!work.isFinished()) {
+            int count = work.getLegalActions(legal);
+            work.apply(legal[random.nextInt(count)]);
+        }
+
+        scoreRewards(work, rewards);
+        for (int i = 0; i < depth; i++) {
+            visits[pathEdge[i]]++;
+            reward[pathEdge[i]] += rewards[pathSeat[i]];
+        }
+    }
+
+    // among the legal actions of this sample that were tried before
+    private int selectUcb(int base, int count) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int edge = base + legal[i].getId();
+            if (child[edge] == 0) continue;
+            double value = reward[edge] / visits[edge]
+                    + EXPLORATION * Math.sqrt(Math.log(available[edge]) / visits[edge]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = edge;
+            }
+        }
+        return best;
+    }
+
+    // a win is worth 1, shared between tied winners
+    static void scoreRewards(GameSnapshot work, double[] rewards) {
+        int seats = work.getSeatCount();
+        int maxScore = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            int score = work.getScore(seat);
+            if (score > maxScore) {
+                maxScore = score;
+                winners = 1;
+            } else if (score == maxScore) {
+                winners++;
+            }
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            rewards[seat] = work.getScore(seat) == maxScore ? 1.0 / winners : 0;
+        }
+    }
+
+    private GameAction mostVisited(GameSnapshot root) {
+        int count = root.getLegalActions(legal);
+        GameAction best = legal[0];
+        for (int i = 1; i < count; i++) {
+            if (visits[legal[i].getId()] > visits[best.getId()]) best = legal[i];
+        }
+        return best;
+    }
+}
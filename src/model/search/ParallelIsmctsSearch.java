@@ -0,0 +1,353 @@
+package model.search;
+
+import model.game.Game;
+import model.game.GameAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// ISMCTS over several threads, in one of two modes:
+// ROOT        every thread grows its own IsmctsSearch tree, root visits are summed at the end.
+//             With an iteration budget the result only depends on the seed and the thread count.
+// SHARED_TREE all threads grow one tree with atomic statistics. A thread going down an edge adds
+//             a virtual loss to it so the others spread out, and takes it back when it backs up.
+// The iteration budget is the total over all threads. Worker threads are daemons of one cached pool
+// shared by every search of the process: each search still runs its threads at once, and workers
+// idle for a minute end, so a search that is dropped leaves no threads behind.
+public class ParallelIsmctsSearch implements ActionSearch {
+    public enum Mode {
+        ROOT,
+        SHARED_TREE
+    }
+
+    private static final int ACTIONS = GameAction.COUNT;
+    private static final int UNBOUNDED_NODES = 1 << 16;
+    // visits added to an edge while a thread is below it
+    private static final int VIRTUAL_LOSS = 3;
+    // rewards are summed as fixed point longs
+    private static final double REWARD_SCALE = 1 << 20;
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "ismcts-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Mode mode;
+    private final int threads;
+    private final int maxIterations;
+    private final long timeBudgetNanos;
+
+    // ROOT mode
+    private final IsmctsSearch[] rootSearches;
+    private final SplittableRandom[] rootRandoms;
+    private final List<Callable<Void>> rootTasks;
+
+    // SHARED_TREE mode, node 0 is the root and a child of 0 means "not expanded yet"
+    private final int maxNodes;
+    private final AtomicIntegerArray child;
+    private final AtomicIntegerArray visits;
+    private final AtomicIntegerArray available;
+    private final AtomicLongArray reward;
+    private final AtomicInteger nodeCount = new AtomicInteger();
+    private final AtomicInteger iterationsLeft = new AtomicInteger();
+    private final TreeWorker[] workers;
+    private final List<Callable<Void>> treeTasks;
+    private GameSnapshot root;
+    private long deadline;
+
+    // constraints set here are copied to every thread's sampler by search()
+    private final DeterminizationSampler sampler = new DeterminizationSampler();
+    private final GameAction[] legal = new GameAction[ACTIONS];
+    private final int[] mergedVisits = new int[ACTIONS];
+    private int lastIterations;
+
+    // maxIterations <= 0 means no iteration limit, timeBudgetNanos <= 0 no time limit; not both
+    public ParallelIsmctsSearch(Mode mode, int threads, int maxIterations, long timeBudgetNanos) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread.");
+        }
+        if (maxIterations <= 0 && timeBudgetNanos <= 0) {
+            throw new IllegalArgumentException("A search needs an iteration or a time budget.");
+        }
+        this.mode = mode;
+        this.threads = threads;
+        this.maxIterations = maxIterations > 0 ? maxIterations : Integer.MAX_VALUE;
+        this.timeBudgetNanos = timeBudgetNanos;
+
+        if (mode == Mode.ROOT) {
+            int perThread = maxIterations > 0 ? (maxIterations + threads - 1) / threads : 0;
+            this.rootSearches = new IsmctsSearch[threads];
+            this.rootRandoms = new SplittableRandom[threads];
+            this.rootTasks = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                rootSearches[t] = new IsmctsSearch(perThread, timeBudgetNanos);
+                int worker = t;
+                rootTasks.add(() -> {
+                    rootSearches[worker].search(root, rootRandoms[worker]);
+                    return null;
+                });
+            }
+            this.maxNodes = 0;
+            this.child = null;
+            this.visits = null;
+            this.available = null;
+            this.reward = null;
+            this.workers = null;
+            this.treeTasks = null;
+        } else {
+            this.maxNodes = maxIterations > 0 ? Math.min(maxIterations, UNBOUNDED_NODES) + 1 : UNBOUNDED_NODES + 1;
+            this.child = new AtomicIntegerArray(maxNodes * ACTIONS);
+            this.visits = new AtomicIntegerArray(maxNodes * ACTIONS);
+            this.available = new AtomicIntegerArray(maxNodes * ACTIONS);
+            this.reward = new AtomicLongArray(maxNodes * ACTIONS);
+            this.workers = new TreeWorker[threads];
+            this.treeTasks = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new TreeWorker();
+                treeTasks.add(workers[t]);
+            }
+            this.rootSearches = null;
+            this.rootRandoms = null;
+            this.rootTasks = null;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public GameAction search(GameSnapshot root, SplittableRandom random) {
+        if (root.isFinished()) {
+            throw new IllegalStateException("The game is over.");
+        }
+        this.root = root;
+        if (mode == Mode.ROOT) {
+            for (int t = 0; t < threads; t++) {
+                rootRandoms[t] = random.split();
+                rootSearches[t].getSampler().copyConstraints(sampler);
+            }
+            runAll(rootTasks);
+        } else {
+            clearNode(0);
+            nodeCount.set(1);
+            iterationsLeft.set(maxIterations);
+            deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+            for (TreeWorker worker : workers) {
+                worker.random = random.split();
+                worker.sampler.copyConstraints(sampler);
+                worker.sampler.prepare(root, root.getCurrentSeat());
+            }
+            runAll(treeTasks);
+        }
+        this.root = null;
+        return mergeRoot(root);
+    }
+
+    @Override
+    public int getRootVisits(GameAction action) {
+        return mergedVisits[action.getId()];
+    }
+
+    @Override
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    @Override
+    public DeterminizationSampler getSampler() {
+        return sampler;
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : WORKERS.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed", e.getCause());
+        }
+    }
+
+    private GameAction mergeRoot(GameSnapshot root) {
+        lastIterations = 0;
+        for (int id = 0; id < ACTIONS; id++) {
+            mergedVisits[id] = 0;
+        }
+        if (mode == Mode.ROOT) {
+            for (IsmctsSearch search : rootSearches) {
+                lastIterations += search.getLastIterations();
+                for (int id = 0; id < ACTIONS; id++) {
+                    mergedVisits[id] += search.getRootVisits(GameAction.of(id));
+                }
+            }
+        } else {
+            for (TreeWorker worker : workers) {
+                lastIterations += worker.iterations;
+            }
+            for (int id = 0; id < ACTIONS; id++) {
+                mergedVisits[id] = visits.get(id);
+            }
+        }
+
+        int count = root.getLegalActions(legal);
+        GameAction best = legal[0];
+        for (int i = 1; i < count; i++) {
+            if (mergedVisits[legal[i].getId()] > mergedVisits[best.getId()]) best = legal[i];
+        }
+        return best;
+    }
+
+    // a node is cleared by the thread that creates it, before it is linked into the tree
+    private void clearNode(int node) {
+        int base = node * ACTIONS;
+        for (int a = base; a < base + ACTIONS; a++) {
+            child.set(a, 0);
+            visits.set(a, 0);
+            available.set(a, 0);
+            reward.set(a, 0);
+        }
+    }
+
+    // one thread of the shared tree, with its own sample and scratch arrays
+    private final class TreeWorker implements Callable<Void> {
+        private final GameSnapshot work = new GameSnapshot();
+        private final GameAction[] legal = new GameAction[ACTIONS];
+        private final DeterminizationSampler sampler = new DeterminizationSampler();
+        private final int[] pathEdge = new int[IsmctsSearch.MAX_DEPTH];
+        private final int[] pathSeat = new int[IsmctsSearch.MAX_DEPTH];
+        private final double[] rewards = new double[Game.MAX_SEATS];
+        private SplittableRandom random;
+        private int iterations;
+        // a reserved node slot this worker did not link, 0 if none
+        private int spare;
+
+        @Override
+        public Void call() {
+            iterations = 0;
+            spare = 0;
+            while (iterationsLeft.getAndDecrement() > 0) {
+                if ((iterations & 63) == 0 && iterations > 0 && System.nanoTime() >= deadline) break;
+                sampler.sample(random, work);
+                iterate();
+                iterations++;
+            }
+            return null;
+        }
+
+        private void iterate() {
+            int node = 0;
+            int depth = 0;
+            boolean inTree = true;
+            while (inTree && !work.isFinished()) {
+                int count = work.getLegalActions(legal);
+                int base = node * ACTIONS;
+                int untried = 0;
+                for (int i = 0; i < count; i++) {
+                    int edge = base + legal[i].getId();
+                    available.incrementAndGet(edge);
+                    if (child.get(edge) == 0) untried++;
+                }
+
+                int edge;
+                int created = untried > 0 ? reserveNode() : 0;
+                if (created > 0) {
+                    edge = pickUntried(base, count, untried);
+                    clearNode(created);
+                    if (child.compareAndSet(edge, 0, created)) {
+                        inTree = false;
+                    } else {
+                        // another thread expanded the same edge meanwhile: follow its node instead
+                        releaseNode(created);
+                    }
+                } else if (untried == count) {
+                    break;
+                } else {
+                    edge = selectUcb(base, count);
+                }
+
+                visits.addAndGet(edge, VIRTUAL_LOSS);
+                pathEdge[depth] = edge;
+                pathSeat[depth] = work.getCurrentSeat();
+                depth++;
+                work.apply(GameAction.of(edge - base));
+                node = child.get(edge);
+            }
+
+            while (!work.isFinished()) {
+                int count = work.getLegalActions(legal);
+                work.apply(legal[random.nextInt(count)]);
+            }
+
+            IsmctsSearch.scoreRewards(work, rewards);
+            for (int i = 0; i < depth; i++) {
+                visits.addAndGet(pathEdge[i], 1 - VIRTUAL_LOSS);
+                reward.addAndGet(pathEdge[i], Math.round(rewards[pathSeat[i]] * REWARD_SCALE));
+            }
+        }
+
+        // a free node slot, 0 when the tree is full; capacity is checked before the slot is taken
+        private int reserveNode() {
+            if (spare != 0) {
+                int node = spare;
+                spare = 0;
+                return node;
+            }
+            while (true) {
+                int node = nodeCount.get();
+                if (node >= maxNodes) return 0;
+                if (nodeCount.compareAndSet(node, node + 1)) return node;
+            }
+        }
+
+        // the last slot goes back to the tree, any other one is kept for this worker's next expansion
+        private void releaseNode(int node) {
+            if (!nodeCount.compareAndSet(node + 1, node)) spare = node;
+        }
+
+        private int pickUntried(int base, int count, int untried) {
+            int pick = random.nextInt(untried);
+            for (int i = 0; i < count; i++) {
+                int candidate = base + legal[i].getId();
+                if (child.get(candidate) == 0 && pick-- == 0) return candidate;
+            }
+            // expanded by another thread since counted: take the last legal action
+            return base + legal[count - 1].getId();
+        }
+
+        private int selectUcb(int base, int count) {
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int edge = base + legal[i].getId();
+                if (child.get(edge) == 0) continue;
+                int n = visits.get(edge);
+                // linked by another thread that has not counted its visit yet
+                if (n <= 0) return edge;
+                double value = reward.get(edge) / REWARD_SCALE / n
+                        + IsmctsSearch.EXPLORATION * Math.sqrt(Math.log(Math.max(1, available.get(edge))) / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = edge;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package model.search;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free open-addressed table of CFR statistics: per information set key, a cumulative regret
+// and a cumulative strategy per action slot. Keys are claimed with compare-and-set, values are
+// floats added with compare-and-set loops, so any number of trainer threads share one table.
+public class RegretTable {
+    private static final int MAX_PROBES = 64;
+
+    private final int slots;
+    private final int mask;
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray regrets;
+    private final AtomicIntegerArray strategySums;
+
+    // 2^bits information sets at most
+    public RegretTable(int bits) {
+        if (bits < 4 || bits > 26) {
+            throw new IllegalArgumentException("Table size must be 2^4 to 2^26 entries: " + bits);
+        }
+        int capacity = 1 << bits;
+        this.slots = CfrInfoSet.SLOTS;
+        this.mask = capacity - 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.regrets = new AtomicIntegerArray(capacity * slots);
+        this.strategySums = new AtomicIntegerArray(capacity * slots);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // entry of the key, created if needed; -1 if the neighbourhood of the key is full
+    public int entry(long key) {
+        int index = (int) mix(key) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = keys.get(index);
+            if (current == key) return index;
+            if (current == 0) {
+                if (keys.compareAndSet(index, 0, key)) return index;
+                if (keys.get(index) == key) return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // entry of the key if it exists, -1 otherwise
+    public int find(long key) {
+        int index = (int) mix(key) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            long current = keys.get(index);
+            if (current == key) return index;
+            if (current == 0) return -1;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    public long getKey(int entry) {
+        return keys.get(entry);
+    }
+
+    public float getRegret(int entry, int slot) {
+        return Float.intBitsToFloat(regrets.get(entry * slots + slot));
+    }
+
+    public float getStrategySum(int entry, int slot) {
+        return Float.intBitsToFloat(strategySums.get(entry * slots + slot));
+    }
+
+    // regret matching+: regrets never go below zero
+    public void addRegret(int entry, int slot, float delta) {
+        int index = entry * slots + slot;
+        while (true) {
+            int bits = regrets.get(index);
+            float updated = Math.max(0f, Float.intBitsToFloat(bits) + delta);
+            if (regrets.compareAndSet(index, bits, Float.floatToRawIntBits(updated))) return;
+        }
+    }
+
+    public void addStrategy(int entry, int slot, float delta) {
+        int index = entry * slots + slot;
+        while (true) {
+            int bits = strategySums.get(index);
+            float updated = Float.intBitsToFloat(bits) + delta;
+            if (strategySums.compareAndSet(index, bits, Float.floatToRawIntBits(updated))) return;
+        }
+    }
+
+    // current strategy by regret matching over the slots in legalSlots, written to out
+    public void strategy(int entry, int legalSlots, double[] out) {
+        double total = 0;
+        for (int rest = legalSlots; rest != 0; rest &= rest - 1) {
+            int slot = Integer.numberOfTrailingZeros(rest);
+            out[slot] = entry < 0 ? 0 : getRegret(entry, slot);
+            total += out[slot];
+        }
+        int legalCount = Integer.bitCount(legalSlots);
+        for (int rest = legalSlots; rest != 0; rest &= rest - 1) {
+            int slot = Integer.numberOfTrailingZeros(rest);
+            out[slot] = total > 0 ? out[slot] / total : 1.0 / legalCount;
+        }
+    }
+
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,111 @@
+package model.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size lock-free cache of search results by 64-bit position key, safe to share between
+// threads. Every entry is two longs, (key ^ data, data): a reader that sees halves of two
+// different writes gets a key that does not match and takes it as a miss, so no lock is needed.
+// Entries sit in buckets of four. A store replaces the entry of the same key, else an empty one,
+// else the one from the oldest search generation and, among those, the one with the least work
+// behind it. Data: value (float bits, 32) | bound (2) | generation (8) | work (16).
+public class TranspositionTable {
+    public static final int EXACT = 0;
+    // the value is at least / at most the stored one
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+    public static final long MISS = -1L;
+
+    private static final int BUCKET = 4;
+    private static final int MAX_WORK = 0xFFFF;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+    private volatile int generation;
+
+    // 2^bits entries
+    public TranspositionTable(int bits) {
+        if (bits < 2 || bits > 28) {
+            throw new IllegalArgumentException("Table size must be 2^2 to 2^28 entries: " + bits);
+        }
+        this.entries = new AtomicLongArray(2 << bits);
+        this.bucketMask = (1 << bits) / BUCKET - 1;
+    }
+
+    public int capacity() {
+        return entries.length() / 2;
+    }
+
+    // a new search: entries of older searches are replaced first
+    public void newGeneration() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, 0);
+        }
+    }
+
+    // the data stored for the key, MISS if there is none
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = 0; i < BUCKET; i++) {
+            int entry = (base + i) * 2;
+            long data = entries.get(entry + 1);
+            if ((entries.get(entry) ^ data) == key && data != 0) return data;
+        }
+        return MISS;
+    }
+
+    // work is the effort the value cost (nodes, visits); it decides what survives in a full bucket
+    public void store(long key, float value, int bound, long work) {
+        int base = bucket(key);
+        int generation = this.generation;
+        long data = pack(value, bound, generation, (int) Math.min(MAX_WORK, work));
+        int victim = -1;
+        int victimScore = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET; i++) {
+            int entry = (base + i) * 2;
+            long current = entries.get(entry + 1);
+            if (current == 0 || (entries.get(entry) ^ current) == key) {
+                victim = entry;
+                break;
+            }
+            // older generations first, then less work
+            int age = (generation - generation(current)) & 0xFF;
+            int score = work(current) - age * (MAX_WORK + 1);
+            if (score < victimScore) {
+                victimScore = score;
+                victim = entry;
+            }
+        }
+        entries.set(victim + 1, data);
+        entries.set(victim, key ^ data);
+    }
+
+    public static float value(long data) {
+        return Float.intBitsToFloat((int) data);
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 32) & 3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 34) & 0xFF;
+    }
+
+    private static int work(long data) {
+        return (int) (data >>> 42) & MAX_WORK;
+    }
+
+    // never 0, which marks an empty entry
+    private static long pack(float value, int bound, int generation, int work) {
+        return (Float.floatToRawIntBits(value) & 0xFFFFFFFFL) | (long) bound << 32 | (long) generation << 34
+                | (long) work << 42 | 1L << 58;
+    }
+
+    private int bucket(long key) {
+        return ((int) RegretTable.mix(key) & bucketMask) * BUCKET;
+    }
+}
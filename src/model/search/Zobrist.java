@@ -0,0 +1,71 @@
+package model.search;
+
+import model.cards.CardSet;
+import model.game.Game;
+import model.game.GamePhase;
+
+import java.util.SplittableRandom;
+
+// Random 64-bit keys for the features of a GameSnapshot; the hash of a state is the XOR of the
+// keys of its features, so a move updates it with a few XORs. Features: the location of every
+// card (hand, face-up or face-down offer card, or jest of a seat, first or second trophy, deck
+// position) and the turn state (phase, current seat, seats that played this round). The two hand
+// cards of a seat share a location: the hand order changes action labels, not the position.
+// Searches add the cards hidden from an observer and the observer itself.
+final class Zobrist {
+    static final int HAND = 0;
+    static final int FACE_UP = 4;
+    static final int FACE_DOWN = 8;
+    static final int JEST = 12;
+    static final int TROPHY = 16;
+    static final int DECK = 18;
+    private static final int LOCATIONS = DECK + CardSet.CARD_COUNT;
+
+    private static final long[] CARDS = new long[CardSet.CARD_COUNT * LOCATIONS];
+    private static final long[] HIDDEN = new long[CardSet.CARD_COUNT];
+    private static final long[] PHASES = new long[GamePhase.values().length];
+    private static final long[] SEATS = new long[Game.MAX_SEATS];
+    private static final long[] PLAYED = new long[Game.MAX_SEATS];
+    private static final long[] OBSERVERS = new long[Game.MAX_SEATS];
+
+    static {
+        // fixed seed: hashes are the same in every run
+        SplittableRandom random = new SplittableRandom(0x4A657374L);
+        fill(CARDS, random);
+        fill(HIDDEN, random);
+        fill(PHASES, random);
+        fill(SEATS, random);
+        fill(PLAYED, random);
+        fill(OBSERVERS, random);
+    }
+
+    private Zobrist() {
+    }
+
+    static long card(int card, int location) {
+        return CARDS[card * LOCATIONS + location];
+    }
+
+    static long turn(GamePhase phase, int currentSeat, int playedMask) {
+        long key = PHASES[phase.ordinal()] ^ SEATS[currentSeat];
+        for (int rest = playedMask; rest != 0; rest &= rest - 1) {
+            key ^= PLAYED[Integer.numberOfTrailingZeros(rest)];
+        }
+        return key;
+    }
+
+    // what an observer cannot see: which cards are hidden from it, not where they lie
+    static long view(int observer, int hiddenMask) {
+        long key = OBSERVERS[observer];
+        for (int rest = hiddenMask; rest != 0; rest &= rest - 1) {
+            key ^= HIDDEN[Integer.numberOfTrailingZeros(rest)];
+        }
+        return key;
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
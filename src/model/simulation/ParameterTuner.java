@@ -0,0 +1,353 @@
+package model.simulation;
+
+import model.players.strategies.GreedyParameters;
+import model.players.strategies.GreedyStrategy;
+import model.players.strategies.StrategyType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Genetic algorithm over GreedyParameters. Every candidate of a generation plays the same games
+// (common random numbers): game i uses seed baseSeed + generation * games + i, puts the candidate
+// at seat i % seatCount and fills the other seats from the opponent pool in a rotation that only
+// depends on i. Fitness is the share of the wins, a tie sharing the win. Candidates are spread
+// over the threads and the results do not depend on their number.
+// Breeding keeps the ELITES best unchanged, the others are a blend crossover of two tournament
+// winners plus a gaussian mutation shrinking over the run. The score weight stays 1: scaling
+// every weight does not change greedy play.
+// A generation's best is picked on its own games, so its fitness is biased upwards. run() plays
+// the ELITES best again on held-out games, the same for every generation (seeds baseSeed - games
+// to baseSeed - 1), and keeps the champion: the best held-out fitness of the whole run. After each generation
+// the next population and the champion are written to the checkpoint, which run() resumes from.
+public class ParameterTuner {
+    // progress of run(), the caller decides what to show
+    public interface Listener {
+        default void resumed(int generation, Path checkpoint) {
+        }
+
+        // after the generation is played, before it is bred: getFitness(), getCandidate() and
+        // getChampion() describe it
+        default void generationEvaluated(ParameterTuner tuner, int bestIndex, double seconds) {
+        }
+    }
+
+    private static final String CHECKPOINT_HEADER = "# Jest tuner checkpoint 1";
+    private static final int ELITES = 2;
+    private static final int TOURNAMENT = 3;
+    private static final double BLEND = 0.25;
+    private static final double MUTATION_RATE = 0.3;
+    private static final double LIMIT = 5;
+
+    private final List<StrategyType> opponents;
+    private final int seatCount;
+    private final int populationSize;
+    private final int games;
+    private final int threads;
+    private final long baseSeed;
+
+    private double[][] population;
+    private final double[] fitness;
+    private int generation;
+    private double[] champion;
+    private double championFitness = Double.NEGATIVE_INFINITY;
+
+    public ParameterTuner(List<StrategyType> opponents, int seatCount, int populationSize, int games, int threads,
+                          long baseSeed) {
+        if (opponents.isEmpty()) {
+            throw new IllegalArgumentException("The tuner needs at least one opponent strategy.");
+        }
+        if (seatCount < 3 || seatCount > 4) {
+            throw new IllegalArgumentException("Jest supports 3 or 4 players only.");
+        }
+        if (populationSize <= ELITES || games < 1 || threads < 1) {
+            throw new IllegalArgumentException("The tuner needs more than " + ELITES
+                    + " candidates, one game and one thread.");
+        }
+        this.opponents = List.copyOf(opponents);
+        this.seatCount = seatCount;
+        this.populationSize = populationSize;
+        this.games = games;
+        this.threads = threads;
+        this.baseSeed = baseSeed;
+        this.fitness = new double[populationSize];
+        this.population = initialPopulation();
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    // candidate i of the population being evaluated, and its fitness once it was
+    public GreedyParameters getCandidate(int i) {
+        return new GreedyParameters(population[i]);
+    }
+
+    public double getFitness(int i) {
+        return fitness[i];
+    }
+
+    public double getMeanFitness() {
+        return Arrays.stream(fitness).average().orElse(0);
+    }
+
+    // best candidate on the held-out games so far, null before run() evaluated a generation
+    public GreedyParameters getChampion() {
+        return champion == null ? null : new GreedyParameters(champion);
+    }
+
+    public double getChampionFitness() {
+        return championFitness;
+    }
+
+    // plays one generation, returns the index of its best candidate; the population is not bred yet
+    public int evaluate() {
+        play(population, baseSeed + (long) generation * games, fitness);
+        int best = 0;
+        for (int i = 1; i < populationSize; i++) {
+            if (fitness[i] > fitness[best]) best = i;
+        }
+        return best;
+    }
+
+    // plays the ELITES best of the evaluated generation on the held-out games; true if one of them
+    // became the champion
+    public boolean challenge() {
+        double[][] elites = new double[ELITES][];
+        for (int i = 0; i < ELITES; i++) {
+            elites[i] = population[ranking()[i]];
+        }
+        double[] heldOut = new double[ELITES];
+        play(elites, baseSeed - games, heldOut);
+        boolean improved = false;
+        for (int i = 0; i < ELITES; i++) {
+            if (heldOut[i] > championFitness) {
+                champion = elites[i].clone();
+                championFitness = heldOut[i];
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    // fills results[i] with the fitness of candidates[i] over the games from firstSeed on
+    private void play(double[][] candidates, long firstSeed, double[] results) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t;
+                futures.add(executor.submit(() -> {
+                    Simulator[] simulators = simulators();
+                    for (int candidate = first; candidate < candidates.length; candidate += threads) {
+                        results[candidate] = play(simulators, new GreedyParameters(candidates[candidate]), firstSeed);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tuning game failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // candidate indices, best fitness first
+    private Integer[] ranking() {
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> -fitness[i]));
+        return order;
+    }
+
+    // replaces the evaluated population by its children and moves to the next generation
+    public void breed(int totalGenerations) {
+        SplittableRandom random = new SplittableRandom(baseSeed * 31 + generation);
+        Integer[] order = ranking();
+        double sigma = 0.05 + 0.45 * Math.max(0, 1 - (double) generation / Math.max(1, totalGenerations));
+
+        double[][] next = new double[populationSize][];
+        for (int i = 0; i < ELITES; i++) {
+            next[i] = population[order[i]].clone();
+        }
+        for (int i = ELITES; i < populationSize; i++) {
+            double[] first = population[select(random)];
+            double[] second = population[select(random)];
+            double[] child = new double[first.length];
+            for (int d = 0; d < child.length; d++) {
+                double mix = -BLEND + random.nextDouble() * (1 + 2 * BLEND);
+                child[d] = first[d] + mix * (second[d] - first[d]);
+                if (random.nextDouble() < MUTATION_RATE) child[d] += sigma * random.nextGaussian();
+                child[d] = Math.max(-LIMIT, Math.min(LIMIT, child[d]));
+            }
+            child[0] = 1;
+            next[i] = child;
+        }
+        population = next;
+        generation++;
+    }
+
+    // runs generations up to totalGenerations, resuming from the checkpoint if there is one, and
+    // saves the champion under bestName whenever it changes; returns the champion
+    public GreedyParameters run(int totalGenerations, Path checkpoint, String bestName, Listener listener)
+            throws IOException {
+        if (Files.exists(checkpoint)) {
+            loadCheckpoint(checkpoint);
+            listener.resumed(generation, checkpoint);
+        }
+        while (generation < totalGenerations) {
+            long start = System.nanoTime();
+            int bestIndex = evaluate();
+            if (challenge()) {
+                getChampion().save(bestName);
+            }
+            listener.generationEvaluated(this, bestIndex, (System.nanoTime() - start) / 1e9);
+            breed(totalGenerations);
+            saveCheckpoint(checkpoint);
+        }
+        return getChampion();
+    }
+
+    public void saveCheckpoint(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            writer.write(CHECKPOINT_HEADER + "\n");
+            writer.write("generation " + generation + "\n");
+            if (champion != null) {
+                writer.write(vectorLine("champion " + championFitness, champion));
+            }
+            for (double[] candidate : population) {
+                writer.write(vectorLine("candidate", candidate));
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String vectorLine(String start, double[] values) {
+        StringBuilder line = new StringBuilder(start);
+        for (double value : values) {
+            line.append(' ').append(value);
+        }
+        return line.append('\n').toString();
+    }
+
+    public void loadCheckpoint(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            if (!CHECKPOINT_HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a Jest tuner checkpoint: " + path);
+            }
+            String[] header = reader.readLine().split(" ");
+            int savedGeneration = Integer.parseInt(header[1]);
+            List<double[]> candidates = new ArrayList<>();
+            double[] savedChampion = null;
+            double savedChampionFitness = Double.NEGATIVE_INFINITY;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.trim().split(" ");
+                // champion <held-out fitness> <weights>, candidate <weights>
+                int skip = fields[0].equals("champion") ? 2 : 1;
+                if (fields.length != GreedyParameters.NAMES.length + skip
+                        || !fields[0].equals(skip == 2 ? "champion" : "candidate")) {
+                    throw new IOException("Bad checkpoint line in " + path + ": " + line);
+                }
+                double[] vector = new double[GreedyParameters.NAMES.length];
+                for (int d = 0; d < vector.length; d++) {
+                    vector[d] = Double.parseDouble(fields[d + skip]);
+                }
+                if (skip == 2) {
+                    savedChampion = vector;
+                    savedChampionFitness = Double.parseDouble(fields[1]);
+                } else {
+                    candidates.add(vector);
+                }
+            }
+            if (candidates.size() != populationSize) {
+                throw new IOException("Checkpoint " + path + " holds " + candidates.size() + " candidates, not "
+                        + populationSize);
+            }
+            population = candidates.toArray(new double[0][]);
+            generation = savedGeneration;
+            champion = savedChampion;
+            championFitness = savedChampionFitness;
+        } catch (RuntimeException e) {
+            throw new IOException("Bad checkpoint " + path, e);
+        }
+    }
+
+    private double[][] initialPopulation() {
+        SplittableRandom random = new SplittableRandom(baseSeed);
+        double[] start = GreedyParameters.DEFAULT.toArray();
+        double[][] initial = new double[populationSize][];
+        initial[0] = start;
+        for (int i = 1; i < populationSize; i++) {
+            initial[i] = start.clone();
+            for (int d = 1; d < start.length; d++) {
+                initial[i][d] = Math.max(-LIMIT, Math.min(LIMIT, start[d] + random.nextGaussian()));
+            }
+        }
+        return initial;
+    }
+
+    private int select(SplittableRandom random) {
+        int best = random.nextInt(populationSize);
+        for (int i = 1; i < TOURNAMENT; i++) {
+            int other = random.nextInt(populationSize);
+            if (fitness[other] > fitness[best]) best = other;
+        }
+        return best;
+    }
+
+    // one simulator per lineup: [rotation * seatCount + candidate seat]
+    private Simulator[] simulators() {
+        Simulator[] simulators = new Simulator[opponents.size() * seatCount];
+        for (int rotation = 0; rotation < opponents.size(); rotation++) {
+            for (int seat = 0; seat < seatCount; seat++) {
+                ArrayList<StrategyType> seats = new ArrayList<>(seatCount);
+                int next = rotation;
+                for (int other = 0; other < seatCount; other++) {
+                    // the candidate's strategy is set by play(), GREEDY only holds its seat
+                    if (other == seat) {
+                        seats.add(StrategyType.GREEDY);
+                    } else {
+                        seats.add(opponents.get(next++ % opponents.size()));
+                    }
+                }
+                simulators[rotation * seatCount + seat] = new Simulator(seats);
+            }
+        }
+        return simulators;
+    }
+
+    private double play(Simulator[] simulators, GreedyParameters parameters, long firstSeed) {
+        for (int i = 0; i < simulators.length; i++) {
+            simulators[i].setStrategy(i % seatCount, new GreedyStrategy(parameters));
+        }
+        double wins = 0;
+        for (int game = 0; game < games; game++) {
+            int seat = game % seatCount;
+            int rotation = (game / seatCount) % opponents.size();
+            SimulationResult result = simulators[rotation * seatCount + seat].simulate(firstSeed + game);
+            if (result.isWinner(seat)) wins += 1.0 / result.getWinnerCount();
+        }
+        return wins / games;
+    }
+}
@@ -0,0 +1,64 @@
+package model.simulation;
+
+import model.cards.TrophyType;
+import model.players.strategies.StrategyType;
+
+// Outcome of one headless game, everything is indexed by seat.
+// A Simulator fills the same result object for every game it plays.
+public class SimulationResult {
+    private final StrategyType[] seats;
+    final int[] scores;
+    final TrophyType[] trophyTypes;
+    final int[] trophyWinners;
+    final boolean[] winners;
+    long seed;
+
+    SimulationResult(StrategyType[] seats, int trophyCount) {
+        this.seats = seats;
+        this.scores = new int[seats.length];
+        this.trophyTypes = new TrophyType[trophyCount];
+        this.trophyWinners = new int[trophyCount];
+        this.winners = new boolean[seats.length];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSeatCount() {
+        return seats.length;
+    }
+
+    public StrategyType getStrategy(int seat) {
+        return seats[seat];
+    }
+
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    public boolean isWinner(int seat) {
+        return winners[seat];
+    }
+
+    public int getWinnerCount() {
+        int count = 0;
+        for (boolean winner : winners) {
+            if (winner) count++;
+        }
+        return count;
+    }
+
+    public int getTrophyCount() {
+        return trophyTypes.length;
+    }
+
+    public TrophyType getTrophyType(int trophy) {
+        return trophyTypes[trophy];
+    }
+
+    // seat that won the trophy, -1 if nobody did
+    public int getTrophyWinner(int trophy) {
+        return trophyWinners[trophy];
+    }
+}
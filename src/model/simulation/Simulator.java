@@ -0,0 +1,67 @@
+package model.simulation;
+
+import model.game.Game;
+import model.game.GameStateMachine;
+import model.players.Player;
+import model.players.VirtualPlayer;
+import model.players.strategies.PlayStrategy;
+import model.players.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Plays bot-only games straight on the model, without controllers or views.
+// One Game object graph is reset and reused for every game, so a simulator belongs to one thread.
+public class Simulator {
+    private final StrategyType[] seats;
+    private final Game game;
+    private final GameStateMachine machine;
+    private final SimulationResult result;
+
+    public Simulator(List<StrategyType> seats) {
+        if (seats.size() < 3 || seats.size() > 4) {
+            throw new IllegalArgumentException("Jest supports 3 or 4 players only.");
+        }
+        this.seats = seats.toArray(new StrategyType[0]);
+        this.game = new Game(0);
+        for (int i = 0; i < this.seats.length; i++) {
+            game.addVirtualPlayer("Bot " + (i + 1), this.seats[i]);
+        }
+        this.machine = new GameStateMachine(game);
+        this.result = new SimulationResult(this.seats.clone(), this.seats.length == 3 ? 2 : 1);
+    }
+
+    // plays the seat with a strategy built by hand instead of its StrategyType
+    public void setStrategy(int seat, PlayStrategy strategy) {
+        ((VirtualPlayer) game.getPlayers().get(seat)).setStrategy(strategy);
+    }
+
+    // the returned result is reused by the next call
+    public SimulationResult simulate(long seed) {
+        game.reset(seed);
+        machine.start();
+        while (machine.step()) {
+            // every seat is a bot, the machine runs to the end of the game
+        }
+        collectResult(seed, machine.getTrophyWinners());
+        return result;
+    }
+
+    private void collectResult(long seed, ArrayList<Player> trophyWinners) {
+        ArrayList<Player> players = game.getPlayers();
+        result.seed = seed;
+        int maxScore = Integer.MIN_VALUE;
+        for (int seat = 0; seat < players.size(); seat++) {
+            result.scores[seat] = players.get(seat).getScore();
+            maxScore = Math.max(maxScore, result.scores[seat]);
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            result.winners[seat] = result.scores[seat] == maxScore;
+        }
+
+        for (int i = 0; i < result.trophyTypes.length; i++) {
+            result.trophyTypes[i] = game.getTrophyRules().get(i).getType();
+            result.trophyWinners[i] = players.indexOf(trophyWinners.get(i));
+        }
+    }
+}
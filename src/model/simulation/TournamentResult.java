@@ -0,0 +1,105 @@
+package model.simulation;
+
+import model.players.strategies.StrategyType;
+
+// Merged statistics of a tournament, per strategy and per worker thread
+public class TournamentResult {
+    private final long[] seatsPlayed;
+    private final long[] wins;
+    private final long[] totalScore;
+    private final long[] trophies;
+    private final long[] threadGames;
+    private final long[] threadNanos;
+    private final long wallNanos;
+
+    TournamentResult(int threadCount, long wallNanos) {
+        int strategies = StrategyType.values().length;
+        this.seatsPlayed = new long[strategies];
+        this.wins = new long[strategies];
+        this.totalScore = new long[strategies];
+        this.trophies = new long[strategies];
+        this.threadGames = new long[threadCount];
+        this.threadNanos = new long[threadCount];
+        this.wallNanos = wallNanos;
+    }
+
+    void merge(int thread, WorkerStats stats) {
+        for (int i = 0; i < seatsPlayed.length; i++) {
+            seatsPlayed[i] += stats.seatsPlayed[i];
+            wins[i] += stats.wins[i];
+            totalScore[i] += stats.totalScore[i];
+            trophies[i] += stats.trophies[i];
+        }
+        threadGames[thread] = stats.games;
+        threadNanos[thread] = stats.nanos;
+    }
+
+    public long getSeatsPlayed(StrategyType type) {
+        return seatsPlayed[type.ordinal()];
+    }
+
+    public long getWins(StrategyType type) {
+        return wins[type.ordinal()];
+    }
+
+    // a shared first place counts as a win for every tied seat
+    public double getWinRate(StrategyType type) {
+        long played = seatsPlayed[type.ordinal()];
+        return played == 0 ? 0 : (double) wins[type.ordinal()] / played;
+    }
+
+    public double getAverageScore(StrategyType type) {
+        long played = seatsPlayed[type.ordinal()];
+        return played == 0 ? 0 : (double) totalScore[type.ordinal()] / played;
+    }
+
+    public long getTrophyCount(StrategyType type) {
+        return trophies[type.ordinal()];
+    }
+
+    public int getThreadCount() {
+        return threadGames.length;
+    }
+
+    public long getGames(int thread) {
+        return threadGames[thread];
+    }
+
+    public double getGamesPerSecond(int thread) {
+        return threadNanos[thread] == 0 ? 0 : threadGames[thread] * 1e9 / threadNanos[thread];
+    }
+
+    public long getTotalGames() {
+        long total = 0;
+        for (long games : threadGames) total += games;
+        return total;
+    }
+
+    public double getTotalGamesPerSecond() {
+        return wallNanos == 0 ? 0 : getTotalGames() * 1e9 / wallNanos;
+    }
+
+    // statistics of one worker, only touched by its own thread until the merge
+    static class WorkerStats {
+        final long[] seatsPlayed = new long[StrategyType.values().length];
+        final long[] wins = new long[StrategyType.values().length];
+        final long[] totalScore = new long[StrategyType.values().length];
+        final long[] trophies = new long[StrategyType.values().length];
+        long games;
+        long nanos;
+
+        void record(SimulationResult result) {
+            for (int seat = 0; seat < result.getSeatCount(); seat++) {
+                int type = result.getStrategy(seat).ordinal();
+                seatsPlayed[type]++;
+                totalScore[type] += result.getScore(seat);
+                if (result.isWinner(seat)) wins[type]++;
+            }
+            for (int i = 0; i < result.getTrophyCount(); i++) {
+                int seat = result.getTrophyWinner(i);
+                if (seat >= 0) trophies[result.getStrategy(seat).ordinal()]++;
+            }
+            games++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package model.simulation;
+
+import model.players.strategies.StrategyType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Spreads headless games over worker threads; each game is confined to the thread playing it
+public class TournamentRunner {
+    private final List<StrategyType> seats;
+    private final int threads;
+
+    public TournamentRunner(List<StrategyType> seats) {
+        this(seats, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TournamentRunner(List<StrategyType> seats, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A tournament needs at least one thread.");
+        }
+        this.seats = List.copyOf(seats);
+        this.threads = threads;
+    }
+
+    // game i is played with seed baseSeed + i and with the seats rotated by i,
+    // so the result does not depend on the number of threads
+    public TournamentResult run(long games, long baseSeed) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<TournamentResult.WorkerStats>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long from = games * t / threads;
+                long to = games * (t + 1) / threads;
+                futures.add(executor.submit(() -> playGames(from, to, baseSeed)));
+            }
+
+            ArrayList<TournamentResult.WorkerStats> stats = new ArrayList<>();
+            for (Future<TournamentResult.WorkerStats> future : futures) {
+                stats.add(future.get());
+            }
+            TournamentResult result = new TournamentResult(threads, System.nanoTime() - start);
+            for (int t = 0; t < threads; t++) {
+                result.merge(t, stats.get(t));
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TournamentResult.WorkerStats playGames(long from, long to, long baseSeed) {
+        Simulator[] rotations = new Simulator[seats.size()];
+        for (int r = 0; r < rotations.length; r++) {
+            ArrayList<StrategyType> rotated = new ArrayList<>(seats.size());
+            for (int seat = 0; seat < seats.size(); seat++) {
+                rotated.add(seats.get((seat + r) % seats.size()));
+            }
+            rotations[r] = new Simulator(rotated);
+        }
+
+        TournamentResult.WorkerStats stats = new TournamentResult.WorkerStats();
+        long start = System.nanoTime();
+        for (long game = from; game < to; game++) {
+            Simulator simulator = rotations[(int) (game % rotations.length)];
+            stats.record(simulator.simulate(baseSeed + game));
+        }
+        stats.nanos = System.nanoTime() - start;
+        return stats;
+    }
+}